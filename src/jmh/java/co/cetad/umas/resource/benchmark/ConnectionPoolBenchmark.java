@@ -0,0 +1,76 @@
+package co.cetad.umas.resource.benchmark;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia por consulta con la fábrica sin pool (comportamiento anterior de DatabaseConfig)
+ * frente al pool de conexiones R2DBC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConnectionPoolBenchmark {
+
+    private static final String FIND_DRONE = """
+            SELECT id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
+            FROM drone
+            WHERE id = :id
+            """;
+
+    private EmbeddedPostgresSupport postgres;
+    private ConnectionPool pool;
+    private DatabaseClient unpooledClient;
+    private DatabaseClient pooledClient;
+    private UUID droneId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = EmbeddedPostgresSupport.start();
+        droneId = UUID.randomUUID();
+        postgres.execute("INSERT INTO drone (id, name, status) VALUES ('" + droneId + "', 'bench', 'ACTIVE')");
+
+        ConnectionFactory unpooled = postgres.connectionFactory();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(unpooled)
+                .initialSize(10)
+                .maxSize(20)
+                .maxIdleTime(Duration.ofMinutes(30))
+                .validationQuery("SELECT 1")
+                .build());
+
+        unpooledClient = DatabaseClient.builder().connectionFactory(unpooled).namedParameters(true).build();
+        pooledClient = DatabaseClient.builder().connectionFactory(pool).namedParameters(true).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.dispose();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Object unpooledFindById() {
+        return unpooledClient.sql(FIND_DRONE)
+                .bind("id", droneId)
+                .fetch()
+                .one()
+                .block();
+    }
+
+    @Benchmark
+    public Object pooledFindById() {
+        return pooledClient.sql(FIND_DRONE)
+                .bind("id", droneId)
+                .fetch()
+                .one()
+                .block();
+    }
+
+}
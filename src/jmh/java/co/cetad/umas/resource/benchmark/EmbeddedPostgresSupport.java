@@ -0,0 +1,111 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Postgres embebido compartido por los benchmarks.
+ * Levanta una instancia local, aplica las migraciones del servicio y expone fábricas R2DBC sin pool.
+ */
+public final class EmbeddedPostgresSupport implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedPostgresSupport(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    public static EmbeddedPostgresSupport start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            return new EmbeddedPostgresSupport(postgres);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No fue posible iniciar Postgres embebido", e);
+        }
+    }
+
+    /**
+     * Fábrica R2DBC directa (una conexión física por suscripción)
+     */
+    public PostgresqlConnectionFactory connectionFactory() {
+        return new PostgresqlConnectionFactory(PostgresqlConnectionConfiguration.builder()
+                .host("localhost")
+                .port(postgres.getPort())
+                .database("postgres")
+                .username("postgres")
+                .password("postgres")
+                .build());
+    }
+
+    /**
+     * Pool con la misma configuración por defecto que DatabaseConfig
+     */
+    public ConnectionPool connectionPool() {
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory())
+                .initialSize(10)
+                .maxSize(20)
+                .validationQuery("SELECT 1")
+                .build());
+    }
+
+    public static DatabaseClient databaseClient(ConnectionPool pool) {
+        return DatabaseClient.builder()
+                .connectionFactory(pool)
+                .namedParameters(true)
+                .build();
+    }
+
+    /**
+     * Cliente medido que usan los repositorios, con el mismo umbral de consulta lenta que application.yml
+     */
+    public static MeteredDatabaseClient meteredDatabaseClient(ConnectionPool pool) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        return new MeteredDatabaseClient(databaseClient(pool), meterRegistry, observationRegistry,
+                Duration.ofMillis(250), Duration.ofSeconds(10));
+    }
+
+    /**
+     * Ejecuta un script SQL por JDBC, útil para preparar datos de prueba
+     */
+    public void execute(String sql) {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error ejecutando script de benchmark", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
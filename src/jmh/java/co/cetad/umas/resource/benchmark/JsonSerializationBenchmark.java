@@ -0,0 +1,78 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.domain.model.dto.DroneResponseDTO;
+import co.cetad.umas.resource.domain.model.dto.MaintenancePieceResponseDTO;
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de las listas de respuesta más voluminosas.
+ * Usa la misma configuración que application.yml (non_null, indent-output) y la compara sin indentación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "1000"})
+    private int size;
+
+    private ObjectWriter indentedWriter;
+    private ObjectWriter compactWriter;
+    private List<DroneResponseDTO> drones;
+    private List<MaintenancePieceResponseDTO> maintenancePieces;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        indentedWriter = objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT);
+        compactWriter = objectMapper.writer();
+
+        String now = LocalDateTime.now().toString();
+        drones = new ArrayList<>(size);
+        maintenancePieces = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String id = UUID.randomUUID().toString();
+            drones.add(new DroneResponseDTO(id, "drone-" + i, "V-" + i, "M300", "fixture", "SN-" + i,
+                    DroneStatus.ACTIVE, BigDecimal.valueOf(i), now, now));
+            maintenancePieces.add(new MaintenancePieceResponseDTO(id, id, id, "piece-" + i,
+                    MaintenancePieceStatus.CHECKED, 1, null, now, now));
+        }
+    }
+
+    @Benchmark
+    public byte[] dronesIndented() throws JsonProcessingException {
+        return indentedWriter.writeValueAsBytes(drones);
+    }
+
+    @Benchmark
+    public byte[] dronesCompact() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(drones);
+    }
+
+    @Benchmark
+    public byte[] maintenancePiecesIndented() throws JsonProcessingException {
+        return indentedWriter.writeValueAsBytes(maintenancePieces);
+    }
+
+    @Benchmark
+    public byte[] maintenancePiecesCompact() throws JsonProcessingException {
+        return compactWriter.writeValueAsBytes(maintenancePieces);
+    }
+
+}
@@ -0,0 +1,142 @@
+package co.cetad.umas.resource.benchmark;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import co.cetad.umas.resource.application.service.maintenance.MaintenanceService;
+import co.cetad.umas.resource.infrastructure.logging.MeteredAsyncAppender;
+import co.cetad.umas.resource.infrastructure.logging.SamplingTurboFilter;
+import co.cetad.umas.resource.infrastructure.web.controller.PieceController;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del logging en el camino de una petición, con la configuración actual (appender síncrono con patrón,
+ * DEBUG en co.cetad.umas.resource) frente al perfil prod de logback-spring.xml (JSON logstash tras
+ * {@link MeteredAsyncAppender}, INFO y muestreo de DEBUG). Ambos escriben a un archivo temporal en lugar de la
+ * consola para no medir la terminal. Con varios hilos el appender síncrono serializa las escrituras;
+ * en prod, si la cola se satura, los eventos se descartan y suman en umas.logging.events.dropped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @Param({"current", "prod"})
+    private String profile;
+
+    private LoggerContext context;
+    private Path output;
+    private Logger controllerLog;
+    private Logger serviceLog;
+    private String userId;
+    private String droneId;
+    private String maintenanceId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        output = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+        context.start();
+
+        if ("prod".equals(profile)) {
+            context.putObject(Environment.class.getName(), new StandardEnvironment());
+
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.setLoggerPrefix("co.cetad.umas.resource");
+            sampling.setLevel("DEBUG");
+            sampling.setKeepOneIn(10);
+            sampling.start();
+            context.addTurboFilter(sampling);
+
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setFormat("logstash");
+
+            MeteredAsyncAppender async = new MeteredAsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(fileAppender(encoder));
+            async.start();
+
+            attach(async, ch.qos.logback.classic.Level.INFO);
+        } else {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} - %msg %kvp%n");
+
+            attach(fileAppender(encoder), ch.qos.logback.classic.Level.DEBUG);
+        }
+
+        controllerLog = context.getLogger(PieceController.class);
+        serviceLog = context.getLogger(MaintenanceService.class);
+        userId = UUID.randomUUID().toString();
+        droneId = UUID.randomUUID().toString();
+        maintenanceId = UUID.randomUUID().toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(output);
+    }
+
+    /**
+     * Eventos de una petición de escritura: traza de entrada del controlador y eventos de negocio del servicio
+     */
+    @Benchmark
+    public void requestPath() {
+        controllerLog.atDebug()
+                .addKeyValue("userId", userId)
+                .addKeyValue("roles", "admin")
+                .log("createMaintenance");
+        serviceLog.atInfo()
+                .addKeyValue("droneId", droneId)
+                .log("Creando mantenimiento");
+        serviceLog.atInfo()
+                .addKeyValue("maintenanceId", maintenanceId)
+                .addKeyValue("droneId", droneId)
+                .log("Mantenimiento creado");
+        serviceLog.atInfo()
+                .addKeyValue("droneId", droneId)
+                .addKeyValue("maintenanceId", maintenanceId)
+                .addKeyValue("status", "IN_MAINTENANCE")
+                .log("Estado del drone cambiado");
+    }
+
+    private Appender<ILoggingEvent> fileAppender(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(output.toString());
+        appender.setAppend(false);
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+
+    private void attach(Appender<ILoggingEvent> appender, ch.qos.logback.classic.Level level) {
+        ch.qos.logback.classic.Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("co.cetad.umas.resource").setLevel(level);
+    }
+
+}
@@ -0,0 +1,102 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenancePieceR2dbcRepository;
+import io.r2dbc.pool.ConnectionPool;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de la creación de piezas de un mantenimiento:
+ * una fila por INSERT (camino anterior) frente al INSERT ... unnest por bloques de saveAll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MaintenancePieceBatchInsertBenchmark {
+
+    @Param({"50", "500"})
+    private int pieceCount;
+
+    private EmbeddedPostgresSupport postgres;
+    private ConnectionPool pool;
+    private MaintenancePieceR2dbcRepository repository;
+    private String maintenanceId;
+    private List<String> pieceIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = EmbeddedPostgresSupport.start();
+        pool = postgres.connectionPool();
+        MeteredDatabaseClient databaseClient = EmbeddedPostgresSupport.meteredDatabaseClient(pool);
+        repository = new MaintenancePieceR2dbcRepository(databaseClient, 500);
+
+        String droneId = UUID.randomUUID().toString();
+        maintenanceId = UUID.randomUUID().toString();
+        postgres.execute("INSERT INTO drone (id, name, status) VALUES ('" + droneId + "', 'bench', 'ACTIVE')");
+        postgres.execute("INSERT INTO maintenance (id, drone_id, current_status) VALUES ('"
+                + maintenanceId + "', '" + droneId + "', 'ACTIVE')");
+
+        pieceIds = new ArrayList<>(pieceCount);
+        StringBuilder pieces = new StringBuilder("INSERT INTO piece (id, name) VALUES ");
+        for (int i = 0; i < pieceCount; i++) {
+            String pieceId = UUID.randomUUID().toString();
+            pieceIds.add(pieceId);
+            pieces.append(i == 0 ? "" : ",").append("('").append(pieceId).append("', 'piece-").append(i).append("')");
+        }
+        postgres.execute(pieces.toString());
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        postgres.execute("DELETE FROM maintenance_piece");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.dispose();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<MaintenancePieceEntity> perRowInsert() {
+        return Flux.fromIterable(newMaintenancePieces())
+                .flatMap(repository::save)
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<MaintenancePieceEntity> batchedInsert() {
+        return repository.saveAll(Flux.fromIterable(newMaintenancePieces()))
+                .collectList()
+                .block();
+    }
+
+    private List<MaintenancePieceEntity> newMaintenancePieces() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MaintenancePieceEntity> entities = new ArrayList<>(pieceIds.size());
+        for (String pieceId : pieceIds) {
+            entities.add(new MaintenancePieceEntity(
+                    UUID.randomUUID().toString(),
+                    maintenanceId,
+                    pieceId,
+                    MaintenancePieceStatus.PENDING,
+                    1,
+                    null,
+                    now,
+                    now
+            ));
+        }
+        return entities;
+    }
+
+}
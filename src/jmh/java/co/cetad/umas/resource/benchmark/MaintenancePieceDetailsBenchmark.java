@@ -0,0 +1,73 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceWithDetails;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenancePieceR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.PieceR2dbcRepository;
+import io.r2dbc.pool.ConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de la consulta de piezas con detalle según crece el número de piezas:
+ * N+1 (una consulta por pieza) frente a la consulta JOIN única.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MaintenancePieceDetailsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pieceCount;
+
+    private EmbeddedPostgresSupport postgres;
+    private ConnectionPool pool;
+    private MaintenancePieceR2dbcRepository maintenancePieceRepository;
+    private PieceR2dbcRepository pieceRepository;
+    private String maintenanceId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = EmbeddedPostgresSupport.start();
+        pool = postgres.connectionPool();
+        MeteredDatabaseClient databaseClient = EmbeddedPostgresSupport.meteredDatabaseClient(pool);
+        maintenancePieceRepository = new MaintenancePieceR2dbcRepository(databaseClient, 500);
+        pieceRepository = new PieceR2dbcRepository(databaseClient);
+
+        String droneId = UUID.randomUUID().toString();
+        maintenanceId = UUID.randomUUID().toString();
+        postgres.execute("INSERT INTO drone (id, name, status) VALUES ('" + droneId + "', 'bench', 'ACTIVE')");
+        postgres.execute("INSERT INTO maintenance (id, drone_id, current_status) VALUES ('"
+                + maintenanceId + "', '" + droneId + "', 'ACTIVE')");
+        postgres.execute("INSERT INTO piece (id, name) "
+                + "SELECT gen_random_uuid(), 'piece-' || n FROM generate_series(1, " + pieceCount + ") AS n");
+        postgres.execute("INSERT INTO maintenance_piece (id, maintenance_id, piece_id, status) "
+                + "SELECT gen_random_uuid(), '" + maintenanceId + "', id, 'PENDING' FROM piece");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.dispose();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<MaintenancePieceWithDetails> nPlusOne() {
+        return maintenancePieceRepository.findByMaintenanceId(maintenanceId)
+                .flatMap(maintenancePiece -> pieceRepository.findById(maintenancePiece.pieceId())
+                        .map(piece -> new MaintenancePieceWithDetails(maintenancePiece, piece)))
+                .collectList()
+                .block();
+    }
+
+    @Benchmark
+    public List<MaintenancePieceWithDetails> singleJoin() {
+        return maintenancePieceRepository.findByMaintenanceIdWithDetails(maintenanceId)
+                .collectList()
+                .block();
+    }
+
+}
@@ -0,0 +1,39 @@
+package co.cetad.umas.resource.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Implementaciones en memoria de los puertos de salida para aislar la capa medida.
+ * Solo responden los métodos indicados; cualquier otro lanza UnsupportedOperationException,
+ * así los benchmarks no se rompen cuando un puerto gana métodos nuevos.
+ */
+public final class PortStubs {
+
+    private PortStubs() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static <T> T stub(Class<T> port, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(
+                port.getClassLoader(),
+                new Class<?>[]{port},
+                (instance, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    if (method.getDeclaringClass() == Object.class) {
+                        return switch (method.getName()) {
+                            case "hashCode" -> System.identityHashCode(instance);
+                            case "equals" -> instance == args[0];
+                            default -> port.getSimpleName() + "Stub";
+                        };
+                    }
+                    throw new UnsupportedOperationException(port.getSimpleName() + "." + method.getName());
+                });
+        return port.cast(proxy);
+    }
+
+}
@@ -0,0 +1,80 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.application.service.drone.DroneService;
+import co.cetad.umas.resource.domain.model.dto.DroneCreateRequestDTO;
+import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.ports.out.DroneRepository;
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo por petición del puente Mono -> CompletableFuture -> Mono que usaban los servicios
+ * frente a la cadena reactiva directa. El repositorio es en memoria para aislar el overhead del puente;
+ * ejecutar con {@code -prof gc} para ver la asignación por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReactiveServiceBenchmark {
+
+    private DroneRepository droneRepository;
+    private DroneService droneService;
+    private DroneCreateRequestDTO createRequest;
+    private String droneId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        droneId = UUID.randomUUID().toString();
+        DroneEntity drone = new DroneEntity(droneId, "bench", "V-1", "M300", "desc", "SN-1",
+                DroneStatus.ACTIVE, BigDecimal.TEN, now, now);
+
+        droneRepository = PortStubs.stub(DroneRepository.class, Map.of(
+                "findById", args -> Mono.just(Optional.of(drone)),
+                "save", args -> Mono.just(args[0])
+        ));
+        droneService = new DroneService(droneRepository, null, null);
+        createRequest = new DroneCreateRequestDTO("bench", "V-1", "M300", "desc", "SN-1", BigDecimal.TEN);
+    }
+
+    @Benchmark
+    public DroneEntity getByIdFutureBridge() {
+        CompletableFuture<DroneEntity> future = droneRepository.findById(droneId)
+                .toFuture()
+                .thenApply(drone -> drone.orElseThrow());
+        return Mono.fromFuture(future).block();
+    }
+
+    @Benchmark
+    public DroneEntity getByIdReactive() {
+        return droneService.getDroneById(droneId).block();
+    }
+
+    @Benchmark
+    public DroneEntity createFutureBridge() {
+        CompletableFuture<DroneEntity> future = CompletableFuture.supplyAsync(() -> newDrone(createRequest))
+                .thenCompose(drone -> droneRepository.save(drone).toFuture());
+        return Mono.fromFuture(future).block();
+    }
+
+    @Benchmark
+    public DroneEntity createReactive() {
+        return droneService.createDrone(createRequest).block();
+    }
+
+    private static DroneEntity newDrone(DroneCreateRequestDTO request) {
+        LocalDateTime now = LocalDateTime.now();
+        return new DroneEntity(UUID.randomUUID().toString(), request.name(), request.vehicleId(), request.model(),
+                request.description(), request.serialNumber(), DroneStatus.ACTIVE, request.flightHours(), now, now);
+    }
+
+}
@@ -0,0 +1,143 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.application.service.drone.DroneService;
+import co.cetad.umas.resource.application.service.maintenance.MaintenancePieceService;
+import co.cetad.umas.resource.application.service.maintenance.MaintenanceService;
+import co.cetad.umas.resource.application.service.operator.OperatorService;
+import co.cetad.umas.resource.application.service.piece.PieceService;
+import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceWithDetails;
+import co.cetad.umas.resource.domain.model.entity.OperatorEntity;
+import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.OperatorStatus;
+import co.cetad.umas.resource.domain.ports.out.DroneRepository;
+import co.cetad.umas.resource.domain.ports.out.MaintenancePieceRepository;
+import co.cetad.umas.resource.domain.ports.out.MaintenanceRepository;
+import co.cetad.umas.resource.domain.ports.out.OperatorRepository;
+import co.cetad.umas.resource.domain.ports.out.PieceRepository;
+import co.cetad.umas.resource.infrastructure.web.controller.DroneController;
+import co.cetad.umas.resource.infrastructure.web.controller.MaintenanceController;
+import co.cetad.umas.resource.infrastructure.web.controller.MaintenancePieceController;
+import co.cetad.umas.resource.infrastructure.web.controller.OperatorController;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalogs;
+import co.cetad.umas.resource.infrastructure.web.controller.PieceController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión entidad -> DTO (toResponse) de cada controlador sobre listas de {@code size} elementos.
+ * Los servicios reales se construyen sobre puertos en memoria, de modo que solo se mide la capa web.
+ * El intercambio nunca coincide con el ETag, así que siempre se mide la respuesta 200 completa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseMappingBenchmark {
+
+    @Param({"100", "500"})
+    private int size;
+
+    private DroneController droneController;
+    private MaintenanceController maintenanceController;
+    private MaintenancePieceController maintenancePieceController;
+    private OperatorController operatorController;
+    private PieceController pieceController;
+    private ServerWebExchange exchange;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<DroneEntity> drones = new ArrayList<>(size);
+        List<MaintenanceEntity> maintenances = new ArrayList<>(size);
+        List<MaintenancePieceWithDetails> maintenancePieces = new ArrayList<>(size);
+        List<OperatorEntity> operators = new ArrayList<>(size);
+        List<PieceEntity> pieces = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            String id = UUID.randomUUID().toString();
+            drones.add(new DroneEntity(id, "drone-" + i, "V-" + i, "M300", "fixture", "SN-" + i,
+                    DroneStatus.ACTIVE, BigDecimal.valueOf(i), now, now));
+            maintenances.add(new MaintenanceEntity(id, id, MaintenanceStatus.ACTIVE, "fixture", now, now));
+            PieceEntity piece = new PieceEntity(id, "piece-" + i, "fixture", true, now, now);
+            pieces.add(piece);
+            maintenancePieces.add(new MaintenancePieceWithDetails(
+                    new MaintenancePieceEntity(id, id, id, MaintenancePieceStatus.CHECKED, 1, "ok", now, now),
+                    piece));
+            operators.add(new OperatorEntity(id, "user-" + i, "User " + i, "user" + i + "@umas.co", "300",
+                    "ugcs", "kc", OperatorStatus.ACTIVE, true, now, now));
+        }
+
+        Mono<CollectionVersion> version = Mono.just(new CollectionVersion(size));
+        exchange = PortStubs.stub(ServerWebExchange.class, Map.of("checkNotModified", args -> false));
+        EnumCatalogs enumCatalogs = new EnumCatalogs(new ObjectMapper());
+
+        droneController = new DroneController(new DroneService(PortStubs.stub(DroneRepository.class,
+                Map.of("findByStatus", args -> Flux.fromIterable(drones),
+                        "getVersion", args -> version)), null, null), null, enumCatalogs);
+        maintenanceController = new MaintenanceController(new MaintenanceService(
+                PortStubs.stub(MaintenanceRepository.class,
+                        Map.of("findByStatus", args -> Flux.fromIterable(maintenances),
+                                "getVersion", args -> version)),
+                null, null, null, null, null, null, ObservationRegistry.NOOP), null, enumCatalogs);
+        maintenancePieceController = new MaintenancePieceController(new MaintenancePieceService(
+                PortStubs.stub(MaintenancePieceRepository.class,
+                        Map.of("findByMaintenanceIdWithDetails", args -> Flux.fromIterable(maintenancePieces))),
+                null), enumCatalogs);
+        operatorController = new OperatorController(new OperatorService(PortStubs.stub(OperatorRepository.class,
+                Map.of("findPage", args -> Flux.fromIterable(operators),
+                        "getVersion", args -> version))), null, enumCatalogs);
+        pieceController = new PieceController(new PieceService(PortStubs.stub(PieceRepository.class,
+                Map.of("findAllActive", args -> Flux.fromIterable(pieces),
+                        "getVersion", args -> version))), null);
+    }
+
+    @Benchmark
+    public Object drones() {
+        return droneController.getActiveDrones(exchange)
+                .flatMap(response -> response.getBody().collectList())
+                .block();
+    }
+
+    @Benchmark
+    public Object maintenances() {
+        return maintenanceController.getMaintenancesByStatus(MaintenanceStatus.ACTIVE, exchange)
+                .flatMap(response -> response.getBody().collectList())
+                .block();
+    }
+
+    @Benchmark
+    public Object maintenancePieces() {
+        return maintenancePieceController.getMaintenancePieces("bench").collectList().block();
+    }
+
+    @Benchmark
+    public Object operators() {
+        return operatorController.getAllOperators(size, null, exchange).block();
+    }
+
+    @Benchmark
+    public Object pieces() {
+        return pieceController.getActivePieces("bench", "admin", exchange)
+                .flatMap(response -> response.getBody().collectList())
+                .block();
+    }
+
+}
@@ -0,0 +1,30 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.infrastructure.security.RoleValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parseo del header X-User-Roles, ejecutado en cada petición a /api/v1/pieces
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoleValidatorBenchmark {
+
+    @Param({"admin", "offline_access, uma_authorization, default-roles-umas, operator, maintainer"})
+    private String rolesHeader;
+
+    @Benchmark
+    public List<String> extractRoles() {
+        return RoleValidator.extractRoles(rolesHeader);
+    }
+
+    @Benchmark
+    public boolean hasAuthorizedRoleForPieces() {
+        return RoleValidator.hasAuthorizedRoleForPieces(rolesHeader);
+    }
+
+}
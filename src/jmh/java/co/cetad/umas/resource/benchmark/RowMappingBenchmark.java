@@ -0,0 +1,118 @@
+package co.cetad.umas.resource.benchmark;
+
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import co.cetad.umas.resource.infrastructure.persistence.repository.DroneR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenancePieceR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenanceR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenanceStatusHistoryR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.OperatorR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.PieceR2dbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de {@code rowCount} filas por cada repositorio R2DBC sobre Postgres embebido.
+ * Cada benchmark recorre el mapRowTo* del repositorio correspondiente para todas las filas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowMappingBenchmark {
+
+    @Param({"1000"})
+    private int rowCount;
+
+    private EmbeddedPostgresSupport postgres;
+    private ConnectionPool pool;
+    private DroneR2dbcRepository droneRepository;
+    private MaintenanceR2dbcRepository maintenanceRepository;
+    private MaintenancePieceR2dbcRepository maintenancePieceRepository;
+    private MaintenanceStatusHistoryR2dbcRepository statusHistoryRepository;
+    private OperatorR2dbcRepository operatorRepository;
+    private PieceR2dbcRepository pieceRepository;
+    private String maintenanceId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = EmbeddedPostgresSupport.start();
+        pool = postgres.connectionPool();
+        MeteredDatabaseClient databaseClient = EmbeddedPostgresSupport.meteredDatabaseClient(pool);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        droneRepository = new DroneR2dbcRepository(databaseClient, meterRegistry);
+        maintenanceRepository = new MaintenanceR2dbcRepository(databaseClient, meterRegistry);
+        maintenancePieceRepository = new MaintenancePieceR2dbcRepository(databaseClient, 500);
+        statusHistoryRepository = new MaintenanceStatusHistoryR2dbcRepository(databaseClient);
+        operatorRepository = new OperatorR2dbcRepository(databaseClient);
+        pieceRepository = new PieceR2dbcRepository(databaseClient);
+
+        maintenanceId = UUID.randomUUID().toString();
+        postgres.execute("""
+                INSERT INTO drone (id, name, vehicle_id, model, description, serial_number, status, flight_hours)
+                SELECT gen_random_uuid(), 'drone-' || n, 'V-' || n, 'M300', 'fixture', 'SN-' || n, 'ACTIVE', n
+                FROM generate_series(1, %1$d) AS n;
+
+                INSERT INTO maintenance (id, drone_id, current_status, description)
+                SELECT '%2$s', id, 'ACTIVE', 'fixture' FROM drone LIMIT 1;
+
+                INSERT INTO maintenance (id, drone_id, current_status, description)
+                SELECT gen_random_uuid(), id, 'COMPLETED', 'fixture' FROM drone OFFSET 1;
+
+                INSERT INTO piece (id, name, description)
+                SELECT gen_random_uuid(), 'piece-' || n, 'fixture' FROM generate_series(1, %1$d) AS n;
+
+                INSERT INTO maintenance_piece (id, maintenance_id, piece_id, status, notes)
+                SELECT gen_random_uuid(), '%2$s', id, 'CHECKED', 'ok' FROM piece;
+
+                INSERT INTO maintenance_status_history (id, maintenance_id, status, comment)
+                SELECT gen_random_uuid(), '%2$s', 'ACTIVE', 'fixture' FROM generate_series(1, %1$d);
+
+                INSERT INTO operator (id, username, full_name, email, status)
+                SELECT gen_random_uuid(), 'user-' || n, 'User ' || n, 'user' || n || '@umas.co', 'ACTIVE'
+                FROM generate_series(1, %1$d) AS n;
+                """.formatted(rowCount, maintenanceId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.dispose();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<?> drones() {
+        return droneRepository.findByStatus(DroneStatus.ACTIVE).collectList().block();
+    }
+
+    @Benchmark
+    public List<?> maintenances() {
+        return maintenanceRepository.findAll().collectList().block();
+    }
+
+    @Benchmark
+    public List<?> maintenancePieces() {
+        return maintenancePieceRepository.findByMaintenanceId(maintenanceId).collectList().block();
+    }
+
+    @Benchmark
+    public List<?> statusHistory() {
+        return statusHistoryRepository.findByMaintenanceId(maintenanceId).collectList().block();
+    }
+
+    @Benchmark
+    public List<?> operators() {
+        return operatorRepository.findAll().collectList().block();
+    }
+
+    @Benchmark
+    public List<?> pieces() {
+        return pieceRepository.findAll().collectList().block();
+    }
+
+}
@@ -1,24 +1,54 @@
 package co.cetad.umas.resource.application.service.drone;
 
+import co.cetad.umas.resource.application.service.imports.BulkImport;
 import co.cetad.umas.resource.domain.model.dto.DroneCreateRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.DroneUpdateRequestDTO;
 import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.vo.BatchLookup;
+import co.cetad.umas.resource.domain.model.vo.BulkUpdateResult;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
 import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.ImportRow;
+import co.cetad.umas.resource.domain.model.vo.ImportRowResult;
+import co.cetad.umas.resource.domain.model.vo.Page;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
 import co.cetad.umas.resource.domain.ports.out.DroneRepository;
+import co.cetad.umas.resource.domain.ports.out.StatusChangeNotifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class DroneService {
 
+    /**
+     * Máximo de drones por cambio de estado en bloque
+     */
+    private static final int MAX_BULK_STATUS_IDS = 10_000;
+
+    /**
+     * Drones por sentencia (y por transacción) en el cambio de estado en bloque
+     */
+    private static final int BULK_STATUS_CHUNK_SIZE = 500;
+
     private final DroneRepository droneRepository;
+    private final StatusChangeNotifier statusChangeNotifier;
+    private final TransactionalOperator transactionalOperator;
 
-    public DroneService(DroneRepository droneRepository) {
+    public DroneService(
+            DroneRepository droneRepository,
+            StatusChangeNotifier statusChangeNotifier,
+            TransactionalOperator transactionalOperator) {
         this.droneRepository = droneRepository;
+        this.statusChangeNotifier = statusChangeNotifier;
+        this.transactionalOperator = transactionalOperator;
     }
 
     /**
@@ -28,6 +58,25 @@ public class DroneService {
         return droneRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de drones usando paginación por keyset sobre (created_at, id)
+     */
+    public Mono<Page<DroneEntity>> getDronesPage(String cursor, Integer limit) {
+        int pageSize = Page.normalizeLimit(limit);
+
+        return droneRepository.findPage(PageCursor.decode(cursor), pageSize + 1)
+                .collectList()
+                .map(rows -> Page.fromSlice(rows, pageSize,
+                        entity -> new PageCursor(entity.createdAt(), entity.id())));
+    }
+
+    /**
+     * Versión de la colección de drones para validar listados con ETag
+     */
+    public Mono<CollectionVersion> getDronesVersion() {
+        return droneRepository.getVersion();
+    }
+
     /**
      * Obtiene todos los drones activos
      */
@@ -38,18 +87,27 @@ public class DroneService {
     /**
      * Obtiene un drone por ID
      */
-    public CompletableFuture<DroneEntity> getDroneById(String id) {
+    public Mono<DroneEntity> getDroneById(String id) {
         return droneRepository.findById(id)
-                .toFuture()
-                .thenApply(drone -> drone.orElseThrow(() ->
+                .map(drone -> drone.orElseThrow(() ->
                         new DroneNotFoundException("Drone not found with id: " + id)));
     }
 
+    /**
+     * Obtiene varios drones por ID en una sola consulta, en el orden solicitado e indicando los IDs inexistentes
+     */
+    public Mono<BatchLookup<DroneEntity>> getDronesByIds(List<String> ids) {
+        return Mono.fromCallable(() -> BatchLookup.normalizeIds(ids))
+                .flatMap(requestedIds -> droneRepository.findAllByIds(requestedIds)
+                        .collectList()
+                        .map(rows -> BatchLookup.of(requestedIds, rows, DroneEntity::id)));
+    }
+
     /**
      * Crea un nuevo drone
      */
-    public CompletableFuture<DroneEntity> createDrone(DroneCreateRequestDTO request) {
-        return CompletableFuture.supplyAsync(() -> {
+    public Mono<DroneEntity> createDrone(DroneCreateRequestDTO request) {
+        return Mono.fromSupplier(() -> {
             LocalDateTime now = LocalDateTime.now();
             return new DroneEntity(
                     UUID.randomUUID().toString(),
@@ -63,17 +121,23 @@ public class DroneService {
                     now,
                     now
             );
-        }).thenCompose(drone ->
-                droneRepository.save(drone).toFuture()
-        );
+        }).flatMap(droneRepository::save);
+    }
+
+    /**
+     * Importa drones en bloque con un resultado por fila.
+     * Se aplican las mismas reglas que en createDrone, además de nombre obligatorio y largo máximo de los textos
+     */
+    public Flux<ImportRowResult> importDrones(Flux<ImportRow<DroneCreateRequestDTO>> rows) {
+        return BulkImport.importRows(rows, this::newImportedDrone, DroneEntity::id, droneRepository::saveBatch);
     }
 
     /**
      * Actualiza un drone existente
      */
-    public CompletableFuture<DroneEntity> updateDrone(String id, DroneUpdateRequestDTO request) {
+    public Mono<DroneEntity> updateDrone(String id, DroneUpdateRequestDTO request) {
         return getDroneById(id)
-                .thenApply(existingDrone -> new DroneEntity(
+                .map(existingDrone -> new DroneEntity(
                         existingDrone.id(),
                         request.name(),
                         request.vehicleId(),
@@ -86,41 +150,78 @@ public class DroneService {
                         existingDrone.createdAt(),
                         LocalDateTime.now()
                 ))
-                .thenCompose(updatedDrone ->
-                        droneRepository.update(updatedDrone).toFuture()
-                );
+                .flatMap(droneRepository::update);
     }
 
     /**
-     * Actualiza solo el estado de un drone
+     * Actualiza solo el estado de un drone y publica el cambio en el canal de estados.
+     * Devuelve la fila escrita por la base de datos, con su updated_at real
      */
-    public CompletableFuture<DroneEntity> updateDroneStatus(String id, DroneStatus status) {
+    public Mono<DroneEntity> updateDroneStatus(String id, DroneStatus status) {
         return getDroneById(id)
-                .thenApply(existingDrone -> new DroneEntity(
-                        existingDrone.id(),
-                        existingDrone.name(),
-                        existingDrone.vehicleId(),
-                        existingDrone.model(),
-                        existingDrone.description(),
-                        existingDrone.serialNumber(),
-                        status,
-                        existingDrone.flightHours(),
-                        existingDrone.createdAt(),
-                        LocalDateTime.now()
-                ))
-                .thenCompose(updatedDrone ->
-                        droneRepository.updateStatus(updatedDrone.id(), updatedDrone.status())
+                .flatMap(existingDrone -> droneRepository.updateStatus(existingDrone.id(), status))
+                .flatMap(updatedDrone ->
+                        statusChangeNotifier.publish(StatusChangeEvent.drone(updatedDrone.id(), updatedDrone.status()))
                                 .thenReturn(updatedDrone)
-                                .toFuture()
                 );
     }
 
+    /**
+     * Cambia el estado de muchos drones sin leerlos antes.
+     * Los IDs se procesan en bloques de BULK_STATUS_CHUNK_SIZE, cada uno con un solo UPDATE ... RETURNING
+     * en su propia transacción; el resultado de cada ID se emite al confirmarse su bloque,
+     * de modo que el cliente ve el avance en conjuntos grandes
+     */
+    public Flux<BulkUpdateResult> updateDroneStatusBulk(List<String> ids, DroneStatus status) {
+        if (status == null) {
+            return Flux.error(new IllegalArgumentException("Debe indicar el estado"));
+        }
+
+        return Mono.fromCallable(() -> BatchLookup.normalizeIds(ids, MAX_BULK_STATUS_IDS))
+                .flatMapMany(requestedIds -> Flux.fromIterable(requestedIds).buffer(BULK_STATUS_CHUNK_SIZE))
+                .concatMap(chunk -> updateStatusChunk(chunk, status));
+    }
+
     /**
      * Elimina un drone (soft delete - cambia estado a DECOMMISSIONED)
      */
-    public CompletableFuture<Void> deleteDrone(String id) {
+    public Mono<Void> deleteDrone(String id) {
         return updateDroneStatus(id, DroneStatus.DECOMMISSIONED)
-                .thenApply(v -> null);
+                .then();
+    }
+
+    private DroneEntity newImportedDrone(DroneCreateRequestDTO request) {
+        if (request.flightHours() != null && request.flightHours().signum() < 0) {
+            throw new IllegalArgumentException("Las horas de vuelo no pueden ser negativas");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return new DroneEntity(
+                UUID.randomUUID().toString(),
+                BulkImport.requireText(request.name(), "name"),
+                BulkImport.maxLength(request.vehicleId(), "vehicleId"),
+                BulkImport.maxLength(request.model(), "model"),
+                request.description(),
+                BulkImport.maxLength(request.serialNumber(), "serialNumber"),
+                DroneStatus.ACTIVE,
+                request.flightHours(),
+                now,
+                now
+        );
+    }
+
+    private Flux<BulkUpdateResult> updateStatusChunk(List<String> chunk, DroneStatus status) {
+        return droneRepository.updateStatusBulk(chunk, status)
+                .map(DroneEntity::id)
+                .collect(Collectors.toSet())
+                .flatMap(updatedIds -> statusChangeNotifier.publishAll(updatedIds.stream()
+                                .map(id -> StatusChangeEvent.drone(id, status))
+                                .toList())
+                        .thenReturn(updatedIds))
+                .as(transactionalOperator::transactional)
+                .flatMapIterable(updatedIds -> chunk.stream()
+                        .map(id -> new BulkUpdateResult(id, updatedIds.contains(id)))
+                        .toList());
     }
 
     public static class DroneNotFoundException extends RuntimeException {
@@ -0,0 +1,24 @@
+package co.cetad.umas.resource.application.service.fleet;
+
+import co.cetad.umas.resource.domain.model.entity.FleetSummary;
+import co.cetad.umas.resource.domain.ports.out.FleetSummaryRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class FleetService {
+
+    private final FleetSummaryRepository fleetSummaryRepository;
+
+    public FleetService(FleetSummaryRepository fleetSummaryRepository) {
+        this.fleetSummaryRepository = fleetSummaryRepository;
+    }
+
+    /**
+     * Obtiene el resumen de la flota: drones por estado, horas de vuelo, mantenimientos abiertos y piezas revisadas
+     */
+    public Mono<FleetSummary> getFleetSummary() {
+        return fleetSummaryRepository.getSummary();
+    }
+
+}
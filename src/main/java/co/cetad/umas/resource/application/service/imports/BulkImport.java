@@ -0,0 +1,182 @@
+package co.cetad.umas.resource.application.service.imports;
+
+import co.cetad.umas.resource.domain.model.vo.ImportRow;
+import co.cetad.umas.resource.domain.model.vo.ImportRowResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importación en bloque compartida por drones, piezas y operadores.
+ * Las filas se agrupan en bloques de CHUNK_SIZE; cada bloque se valida en memoria y se escribe
+ * con un único INSERT. Solo se retiene un bloque a la vez, así que la memoria no depende del tamaño del archivo
+ */
+public final class BulkImport {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImport.class);
+
+    public static final int CHUNK_SIZE = 500;
+
+    /**
+     * Rechazo de filas válidas que no se guardaron por una causa que no se puede precisar (p. ej. error de base de datos);
+     * el detalle queda en el log del servidor
+     */
+    public static final String NOT_SAVED_MESSAGE = "No fue posible guardar la fila; reintente su importación";
+
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private BulkImport() {
+    }
+
+    /**
+     * Importa filas cuyo INSERT no puede entrar en conflicto (IDs generados y sin otras restricciones UNIQUE)
+     */
+    public static <R, E> Flux<ImportRowResult> importRows(
+            Flux<ImportRow<R>> rows,
+            Function<R, E> toEntity,
+            Function<E, String> idOf,
+            Function<List<E>, Flux<E>> saveBatch) {
+        return importRows(rows, toEntity, idOf, saveBatch, sameReason(NOT_SAVED_MESSAGE));
+    }
+
+    /**
+     * Importa las filas en orden y devuelve un resultado por fila.
+     * toEntity valida la solicitud y lanza IllegalArgumentException si la fila no es válida;
+     * las filas válidas que saveBatch no devuelve (ON CONFLICT DO NOTHING) se pasan a conflictReasons,
+     * que devuelve el motivo de rechazo de cada una
+     */
+    public static <R, E> Flux<ImportRowResult> importRows(
+            Flux<ImportRow<R>> rows,
+            Function<R, E> toEntity,
+            Function<E, String> idOf,
+            Function<List<E>, Flux<E>> saveBatch,
+            Function<List<E>, Mono<Function<E, String>>> conflictReasons) {
+        return rows.buffer(CHUNK_SIZE)
+                .concatMap(chunk -> importChunk(chunk, toEntity, idOf, saveBatch, conflictReasons), 1);
+    }
+
+    /**
+     * Motivo fijo para todas las filas en conflicto, cuando solo hay una restricción UNIQUE posible
+     */
+    public static <E> Function<List<E>, Mono<Function<E, String>>> sameReason(String reason) {
+        return conflicts -> Mono.just(entity -> reason);
+    }
+
+    /**
+     * Valida que un campo de texto obligatorio venga informado y no supere el largo de la columna
+     */
+    public static String requireText(String value, String field) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("El campo " + field + " es obligatorio");
+        }
+        return maxLength(value, field);
+    }
+
+    /**
+     * Valida que un campo de texto opcional no supere el largo de la columna (VARCHAR(255) salvo que se indique otro)
+     */
+    public static String maxLength(String value, String field) {
+        return maxLength(value, field, MAX_TEXT_LENGTH);
+    }
+
+    public static String maxLength(String value, String field, int maxLength) {
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException("El campo " + field + " supera los " + maxLength + " caracteres");
+        }
+        return value;
+    }
+
+    private static <R, E> Flux<ImportRowResult> importChunk(
+            List<ImportRow<R>> chunk,
+            Function<R, E> toEntity,
+            Function<E, String> idOf,
+            Function<List<E>, Flux<E>> saveBatch,
+            Function<List<E>, Mono<Function<E, String>>> conflictReasons) {
+        int size = chunk.size();
+        Function<E, String> notSaved = entity -> NOT_SAVED_MESSAGE;
+        List<E> entities = new ArrayList<>(size);
+        List<E> rowEntities = new ArrayList<>(size);
+        List<String> rowErrors = new ArrayList<>(size);
+
+        for (ImportRow<R> row : chunk) {
+            E entity = null;
+            String error = row.error();
+            if (error == null) {
+                try {
+                    entity = toEntity.apply(row.request());
+                    entities.add(entity);
+                } catch (IllegalArgumentException e) {
+                    error = e.getMessage();
+                }
+            }
+            rowEntities.add(entity);
+            rowErrors.add(error);
+        }
+
+        if (entities.isEmpty()) {
+            return Flux.fromIterable(results(chunk, rowEntities, rowErrors, Set.of(), idOf, notSaved));
+        }
+
+        return saveBatch.apply(entities)
+                .map(idOf)
+                .collect(Collectors.toSet())
+                .flatMap(savedIds -> {
+                    List<E> conflicts = entities.stream()
+                            .filter(entity -> !savedIds.contains(idOf.apply(entity)))
+                            .toList();
+                    if (conflicts.isEmpty()) {
+                        return Mono.just(results(chunk, rowEntities, rowErrors, savedIds, idOf, notSaved));
+                    }
+                    return conflictReasons.apply(conflicts)
+                            .onErrorResume(DataAccessException.class, e -> {
+                                logger.warn("No fue posible determinar el motivo de {} filas en conflicto", conflicts.size(), e);
+                                return Mono.just(notSaved);
+                            })
+                            .map(reasons -> results(chunk, rowEntities, rowErrors, savedIds, idOf, reasons));
+                })
+                .onErrorResume(DataAccessException.class, e -> {
+                    logger.error("Bloque de importación de {} filas rechazado (líneas {}-{})",
+                            entities.size(), chunk.get(0).line(), chunk.get(size - 1).line(), e);
+                    return Mono.just(results(chunk, rowEntities, rowErrors, Set.of(), idOf, notSaved));
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    /**
+     * Arma los resultados en el orden de las filas; las filas válidas ausentes de savedIds se rechazan
+     * con el motivo que indique notSavedReason
+     */
+    private static <R, E> List<ImportRowResult> results(
+            List<ImportRow<R>> chunk,
+            List<E> rowEntities,
+            List<String> rowErrors,
+            Set<String> savedIds,
+            Function<E, String> idOf,
+            Function<E, String> notSavedReason) {
+        List<ImportRowResult> results = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            long line = chunk.get(i).line();
+            E entity = rowEntities.get(i);
+
+            if (entity == null) {
+                results.add(ImportRowResult.rejected(line, rowErrors.get(i)));
+            } else if (savedIds.contains(idOf.apply(entity))) {
+                results.add(ImportRowResult.imported(line, idOf.apply(entity)));
+            } else {
+                results.add(ImportRowResult.rejected(line, notSavedReason.apply(entity)));
+            }
+        }
+
+        return results;
+    }
+
+}
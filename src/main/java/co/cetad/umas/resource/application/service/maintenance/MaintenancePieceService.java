@@ -2,9 +2,10 @@ package co.cetad.umas.resource.application.service.maintenance;
 
 import co.cetad.umas.resource.domain.model.dto.MaintenancePieceUpdateDTO;
 import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
-import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceWithDetails;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
 import co.cetad.umas.resource.domain.ports.out.MaintenancePieceRepository;
-import co.cetad.umas.resource.domain.ports.out.PieceRepository;
+import co.cetad.umas.resource.domain.ports.out.StatusChangeNotifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -12,7 +13,6 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
 
 @Service
 public class MaintenancePieceService {
@@ -20,50 +20,45 @@ public class MaintenancePieceService {
     private static final Logger logger = LoggerFactory.getLogger(MaintenancePieceService.class);
 
     private final MaintenancePieceRepository maintenancePieceRepository;
-    private final PieceRepository pieceRepository;
+    private final StatusChangeNotifier statusChangeNotifier;
 
     public MaintenancePieceService(
             MaintenancePieceRepository maintenancePieceRepository,
-            PieceRepository pieceRepository) {
+            StatusChangeNotifier statusChangeNotifier) {
         this.maintenancePieceRepository = maintenancePieceRepository;
-        this.pieceRepository = pieceRepository;
+        this.statusChangeNotifier = statusChangeNotifier;
     }
 
     /**
      * Obtiene todas las piezas de un mantenimiento con información detallada de cada pieza
+     * (una sola consulta JOIN, ordenadas por fecha de creación)
      */
     public Flux<MaintenancePieceWithDetails> getMaintenancePiecesWithDetails(String maintenanceId) {
-        return maintenancePieceRepository.findByMaintenanceId(maintenanceId)
-                .flatMap(maintenancePiece ->
-                        pieceRepository.findById(maintenancePiece.pieceId())
-                                .map(piece -> new MaintenancePieceWithDetails(maintenancePiece, piece))
-                                .onErrorResume(e -> {
-                                    logger.warn("Pieza no encontrada: {}", maintenancePiece.pieceId());
-                                    return Mono.empty();
-                                })
-                );
+        return maintenancePieceRepository.findByMaintenanceIdWithDetails(maintenanceId);
     }
 
     /**
      * Obtiene una pieza específica de un mantenimiento
      */
-    public CompletableFuture<MaintenancePieceEntity> getMaintenancePieceById(String id) {
+    public Mono<MaintenancePieceEntity> getMaintenancePieceById(String id) {
         return maintenancePieceRepository.findById(id)
                 .switchIfEmpty(Mono.error(
                         new MaintenancePieceNotFoundException("Pieza de mantenimiento no encontrada con id: " + id)
-                ))
-                .toFuture();
+                ));
     }
 
     /**
      * Actualiza el estado de una pieza en un mantenimiento
-     * Permite al usuario ir haciendo la revisión pieza por pieza
+     * Permite al usuario ir haciendo la revisión pieza por pieza; el cambio se publica en el canal de estados
      */
-    public CompletableFuture<MaintenancePieceEntity> updateMaintenancePieceStatus(
+    public Mono<MaintenancePieceEntity> updateMaintenancePieceStatus(
             String id,
             MaintenancePieceUpdateDTO updateDTO) {
 
-        logger.info("Actualizando pieza de mantenimiento {} a estado {}", id, updateDTO.status());
+        logger.atDebug()
+                .addKeyValue("maintenancePieceId", id)
+                .addKeyValue("status", updateDTO.status())
+                .log("Actualizando pieza de mantenimiento");
 
         return maintenancePieceRepository.findById(id)
                 .switchIfEmpty(Mono.error(
@@ -83,20 +78,15 @@ public class MaintenancePieceService {
 
                     return maintenancePieceRepository.update(updated);
                 })
-                .doOnSuccess(updated ->
-                        logger.info("Pieza de mantenimiento {} actualizada a estado {}",
-                                updated.id(), updated.status())
-                )
-                .toFuture();
-    }
-
-    /**
-     * Record auxiliar para devolver información completa de la pieza
-     */
-    public record MaintenancePieceWithDetails(
-            MaintenancePieceEntity maintenancePiece,
-            PieceEntity piece
-    ) {
+                .flatMap(updated -> statusChangeNotifier.publish(StatusChangeEvent.maintenancePiece(
+                                updated.id(), updated.maintenanceId(), updated.status()))
+                        .thenReturn(updated))
+                .doOnSuccess(updated -> logger.atInfo()
+                        .addKeyValue("maintenancePieceId", updated.id())
+                        .addKeyValue("maintenanceId", updated.maintenanceId())
+                        .addKeyValue("pieceId", updated.pieceId())
+                        .addKeyValue("status", updated.status())
+                        .log("Pieza de mantenimiento actualizada"));
     }
 
     public static class MaintenancePieceNotFoundException extends RuntimeException {
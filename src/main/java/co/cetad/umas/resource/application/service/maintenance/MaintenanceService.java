@@ -2,49 +2,85 @@ package co.cetad.umas.resource.application.service.maintenance;
 
 import co.cetad.umas.resource.domain.model.dto.MaintenanceCreateRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.MaintenanceStatusUpdateDTO;
+import co.cetad.umas.resource.domain.model.entity.MaintenanceAuditRecord;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
 import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceStatusHistoryEntity;
+import co.cetad.umas.resource.domain.model.vo.BatchLookup;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
 import co.cetad.umas.resource.domain.model.vo.DroneStatus;
 import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
 import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.Page;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
 import co.cetad.umas.resource.domain.ports.out.DroneRepository;
 import co.cetad.umas.resource.domain.ports.out.MaintenancePieceRepository;
 import co.cetad.umas.resource.domain.ports.out.MaintenanceRepository;
 import co.cetad.umas.resource.domain.ports.out.MaintenanceStatusHistoryRepository;
 import co.cetad.umas.resource.domain.ports.out.PieceRepository;
+import co.cetad.umas.resource.domain.ports.out.StatusChangeNotifier;
+import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.observability.micrometer.Micrometer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 public class MaintenanceService {
 
     private static final Logger logger = LoggerFactory.getLogger(MaintenanceService.class);
 
+    /**
+     * Máximo de drones por verificación de mantenimiento activo en lote
+     */
+    private static final int MAX_ACTIVE_CHECK_BATCH = 500;
+
+    /**
+     * Máximo de días por exportación de auditoría (un año)
+     */
+    private static final int MAX_AUDIT_EXPORT_DAYS = 366;
+
     private final MaintenanceRepository maintenanceRepository;
     private final MaintenancePieceRepository maintenancePieceRepository;
     private final MaintenanceStatusHistoryRepository statusHistoryRepository;
     private final PieceRepository pieceRepository;
     private final DroneRepository droneRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final StatusChangeNotifier statusChangeNotifier;
+    private final ObservationRegistry observationRegistry;
 
     public MaintenanceService(
             MaintenanceRepository maintenanceRepository,
             MaintenancePieceRepository maintenancePieceRepository,
             MaintenanceStatusHistoryRepository statusHistoryRepository,
             PieceRepository pieceRepository,
-            DroneRepository droneRepository) {
+            DroneRepository droneRepository,
+            TransactionalOperator transactionalOperator,
+            StatusChangeNotifier statusChangeNotifier,
+            ObservationRegistry observationRegistry) {
         this.maintenanceRepository = maintenanceRepository;
         this.maintenancePieceRepository = maintenancePieceRepository;
         this.statusHistoryRepository = statusHistoryRepository;
         this.pieceRepository = pieceRepository;
         this.droneRepository = droneRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.statusChangeNotifier = statusChangeNotifier;
+        this.observationRegistry = observationRegistry;
     }
 
     /**
@@ -54,13 +90,41 @@ public class MaintenanceService {
         return maintenanceRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de mantenimientos usando paginación por keyset sobre (created_at, id)
+     */
+    public Mono<Page<MaintenanceEntity>> getMaintenancesPage(String cursor, Integer limit) {
+        int pageSize = Page.normalizeLimit(limit);
+
+        return maintenanceRepository.findPage(PageCursor.decode(cursor), pageSize + 1)
+                .collectList()
+                .map(rows -> Page.fromSlice(rows, pageSize,
+                        entity -> new PageCursor(entity.createdAt(), entity.id())));
+    }
+
+    /**
+     * Versión de la colección de mantenimientos para validar listados con ETag
+     */
+    public Mono<CollectionVersion> getMaintenancesVersion() {
+        return maintenanceRepository.getVersion();
+    }
+
     /**
      * Obtiene un mantenimiento por ID
      */
-    public CompletableFuture<MaintenanceEntity> getMaintenanceById(String id) {
+    public Mono<MaintenanceEntity> getMaintenanceById(String id) {
         return maintenanceRepository.findById(id)
-                .switchIfEmpty(Mono.error(new MaintenanceNotFoundException("Mantenimiento no encontrado con id: " + id)))
-                .toFuture();
+                .switchIfEmpty(Mono.error(new MaintenanceNotFoundException("Mantenimiento no encontrado con id: " + id)));
+    }
+
+    /**
+     * Obtiene varios mantenimientos por ID en una sola consulta, en el orden solicitado e indicando los IDs inexistentes
+     */
+    public Mono<BatchLookup<MaintenanceEntity>> getMaintenancesByIds(List<String> ids) {
+        return Mono.fromCallable(() -> BatchLookup.normalizeIds(ids))
+                .flatMap(requestedIds -> maintenanceRepository.findAllByIds(requestedIds)
+                        .collectList()
+                        .map(rows -> BatchLookup.of(requestedIds, rows, MaintenanceEntity::id)));
     }
 
     /**
@@ -83,88 +147,85 @@ public class MaintenanceService {
      * 2. Crea registro en historial
      * 3. Crea registros de TODAS las piezas activas en estado PENDING
      * 4. Cambia el estado del drone a IN_MAINTENANCE
+     * Todo se ejecuta en una única transacción (una conexión); si algún paso falla se revierte completo.
+     * Los pasos 2, 3 y 4 solo dependen del mantenimiento guardado y se envían en paralelo sobre la misma conexión.
+     * Los cambios de estado del mantenimiento y del drone se notifican al confirmar la transacción.
+     * Cada paso se registra como span hijo de umas.maintenance.create (ver {@link #step}).
      */
-    public CompletableFuture<MaintenanceEntity> createMaintenance(MaintenanceCreateRequestDTO request) {
-        logger.info("Creando mantenimiento para drone: {}", request.droneId());
-
-        return CompletableFuture.supplyAsync(() -> {
-            String maintenanceId = UUID.randomUUID().toString();
-            LocalDateTime now = LocalDateTime.now();
-
-            return new MaintenanceEntity(
-                    maintenanceId,
-                    request.droneId(),
-                    MaintenanceStatus.ACTIVE,
-                    request.description(),
-                    now,
-                    now
-            );
-        }).thenCompose(maintenance ->
+    public Mono<MaintenanceEntity> createMaintenance(MaintenanceCreateRequestDTO request) {
+        logger.atDebug()
+                .addKeyValue("droneId", request.droneId())
+                .log("Creando mantenimiento");
+
+        return Mono.fromSupplier(() -> {
+                    LocalDateTime now = LocalDateTime.now();
+
+                    return new MaintenanceEntity(
+                            UUID.randomUUID().toString(),
+                            request.droneId(),
+                            MaintenanceStatus.ACTIVE,
+                            request.description(),
+                            now,
+                            now
+                    );
+                })
                 // 1. Guardar el mantenimiento
-                maintenanceRepository.save(maintenance)
-                        .flatMap(savedMaintenance -> {
-                            logger.info("Mantenimiento creado: {}", savedMaintenance.id());
+                .flatMap(maintenance -> step("umas.maintenance.create.save", maintenanceRepository.save(maintenance)))
+                .flatMap(savedMaintenance -> {
+                    logger.atInfo()
+                            .addKeyValue("maintenanceId", savedMaintenance.id())
+                            .addKeyValue("droneId", savedMaintenance.droneId())
+                            .log("Mantenimiento creado");
 
-                            // 2. Crear registro inicial en historial
-                            return createStatusHistory(
+                    // 2. Crear registro inicial en historial
+                    Mono<MaintenanceStatusHistoryEntity> history = step("umas.maintenance.create.history",
+                            createStatusHistory(
                                     savedMaintenance.id(),
                                     MaintenanceStatus.ACTIVE,
                                     null, // Sin operador por ahora
                                     "Mantenimiento creado"
-                            ).thenReturn(savedMaintenance);
-                        })
-                        .flatMap(savedMaintenance -> {
-                            // 3. Obtener todas las piezas ACTIVAS y crear registros en estado PENDING
-                            Flux<MaintenancePieceEntity> maintenancePieces = pieceRepository.findAllActive()
-                                    .map(piece -> {
-                                        String maintenancePieceId = UUID.randomUUID().toString();
-                                        LocalDateTime now = LocalDateTime.now();
-
-                                        return new MaintenancePieceEntity(
-                                                maintenancePieceId,
-                                                savedMaintenance.id(),
-                                                piece.id(),
-                                                MaintenancePieceStatus.PENDING,
-                                                1,
-                                                null,
-                                                now,
-                                                now
-                                        );
-                                    });
-
-                            return maintenancePieceRepository.saveAll(maintenancePieces)
-                                    .collectList()
-                                    .doOnSuccess(pieces ->
-                                            logger.info("Creados {} registros de piezas para mantenimiento {}",
-                                                    pieces.size(), savedMaintenance.id())
-                                    )
-                                    .thenReturn(savedMaintenance);
-                        })
-                        .flatMap(savedMaintenance -> {
-                            // 4. Cambiar estado del drone a IN_MAINTENANCE
-                            return droneRepository.updateStatus(savedMaintenance.droneId(), DroneStatus.IN_MAINTENANCE)
-                                    .doOnSuccess(v ->
-                                            logger.info("Estado del drone {} cambiado a IN_MAINTENANCE",
-                                                    savedMaintenance.droneId())
-                                    )
-                                    .thenReturn(savedMaintenance);
-                        })
-                        .toFuture()
-        );
+                            ));
+
+                    // 3. Obtener todas las piezas ACTIVAS y crear registros en estado PENDING
+                    Mono<Void> pieces = step("umas.maintenance.create.pieces", createPendingPieces(savedMaintenance.id()));
+
+                    // 4. Cambiar estado del drone a IN_MAINTENANCE
+                    Mono<Void> droneStatus = step("umas.maintenance.create.drone-status",
+                            droneRepository.updateStatus(savedMaintenance.droneId(), DroneStatus.IN_MAINTENANCE).then())
+                            .doOnSuccess(v -> logger.atInfo()
+                                    .addKeyValue("droneId", savedMaintenance.droneId())
+                                    .addKeyValue("maintenanceId", savedMaintenance.id())
+                                    .addKeyValue("status", DroneStatus.IN_MAINTENANCE)
+                                    .log("Estado del drone cambiado"));
+
+                    return Mono.when(history, pieces, droneStatus)
+                            .then(step("umas.maintenance.create.notify", statusChangeNotifier.publish(
+                                            StatusChangeEvent.maintenance(savedMaintenance.id(),
+                                                    savedMaintenance.droneId(), MaintenanceStatus.ACTIVE))
+                                    .then(statusChangeNotifier.publish(StatusChangeEvent.drone(
+                                            savedMaintenance.droneId(), DroneStatus.IN_MAINTENANCE)))))
+                            .thenReturn(savedMaintenance);
+                })
+                .as(transactionalOperator::transactional)
+                .as(maintenance -> step("umas.maintenance.create", maintenance));
     }
 
     /**
      * Actualiza el estado de un mantenimiento
      * Si el estado cambia a COMPLETED, automáticamente cambia el estado del drone a ACTIVE
-     * Siempre crea un registro en el historial de estados
+     * Siempre crea un registro en el historial de estados y notifica el cambio al confirmar la transacción
+     * Cada paso se registra como span hijo de umas.maintenance.update-status
      */
-    public CompletableFuture<MaintenanceEntity> updateMaintenanceStatus(
+    public Mono<MaintenanceEntity> updateMaintenanceStatus(
             String id,
             MaintenanceStatusUpdateDTO statusUpdate) {
 
-        logger.info("Actualizando estado de mantenimiento {} a {}", id, statusUpdate.status());
+        logger.atDebug()
+                .addKeyValue("maintenanceId", id)
+                .addKeyValue("status", statusUpdate.status())
+                .log("Actualizando estado de mantenimiento");
 
-        return maintenanceRepository.findById(id)
+        return step("umas.maintenance.update-status.find", maintenanceRepository.findById(id))
                 .switchIfEmpty(Mono.error(new MaintenanceNotFoundException("Mantenimiento no encontrado con id: " + id)))
                 .flatMap(existing -> {
                     LocalDateTime now = LocalDateTime.now();
@@ -178,37 +239,53 @@ public class MaintenanceService {
                             now
                     );
 
-                    return maintenanceRepository.update(updatedMaintenance);
+                    return step("umas.maintenance.update-status.update", maintenanceRepository.update(updatedMaintenance));
                 })
                 .flatMap(updated -> {
                     // Crear registro en historial
-                    return createStatusHistory(
+                    return step("umas.maintenance.update-status.history", createStatusHistory(
                             updated.id(),
                             updated.currentStatus(),
                             statusUpdate.changedBy(),
                             statusUpdate.comment()
-                    ).thenReturn(updated);
+                    )).then(step("umas.maintenance.update-status.notify", statusChangeNotifier.publish(
+                            StatusChangeEvent.maintenance(updated.id(), updated.droneId(), updated.currentStatus())
+                    ))).thenReturn(updated);
                 })
                 .flatMap(updated -> {
                     // Si el estado es COMPLETED, cambiar drone a ACTIVE
                     if (updated.currentStatus() == MaintenanceStatus.COMPLETED) {
-                        logger.info("Mantenimiento completado, cambiando drone {} a ACTIVE", updated.droneId());
+                        logger.atDebug()
+                                .addKeyValue("maintenanceId", updated.id())
+                                .addKeyValue("droneId", updated.droneId())
+                                .log("Mantenimiento completado, cambiando drone a ACTIVE");
 
-                        return droneRepository.updateStatus(updated.droneId(), DroneStatus.ACTIVE)
-                                .doOnSuccess(v ->
-                                        logger.info("Estado del drone {} cambiado a ACTIVE", updated.droneId())
-                                )
+                        return step("umas.maintenance.update-status.drone-status",
+                                droneRepository.updateStatus(updated.droneId(), DroneStatus.ACTIVE))
+                                .doOnSuccess(v -> logger.atInfo()
+                                        .addKeyValue("droneId", updated.droneId())
+                                        .addKeyValue("maintenanceId", updated.id())
+                                        .addKeyValue("status", DroneStatus.ACTIVE)
+                                        .log("Estado del drone cambiado"))
+                                .then(statusChangeNotifier.publish(
+                                        StatusChangeEvent.drone(updated.droneId(), DroneStatus.ACTIVE)))
                                 .thenReturn(updated);
                     }
                     return Mono.just(updated);
                 })
-                .toFuture();
+                .as(transactionalOperator::transactional)
+                .doOnSuccess(updated -> logger.atInfo()
+                        .addKeyValue("maintenanceId", updated.id())
+                        .addKeyValue("droneId", updated.droneId())
+                        .addKeyValue("status", updated.currentStatus())
+                        .log("Estado de mantenimiento actualizado"))
+                .as(maintenance -> step("umas.maintenance.update-status", maintenance));
     }
 
     /**
      * Actualiza un mantenimiento (solo descripción, el estado se actualiza con updateMaintenanceStatus)
      */
-    public CompletableFuture<MaintenanceEntity> updateMaintenance(String id, String description) {
+    public Mono<MaintenanceEntity> updateMaintenance(String id, String description) {
         return maintenanceRepository.findById(id)
                 .switchIfEmpty(Mono.error(new MaintenanceNotFoundException("Mantenimiento no encontrado con id: " + id)))
                 .flatMap(existing -> {
@@ -221,8 +298,7 @@ public class MaintenanceService {
                             LocalDateTime.now()
                     );
                     return maintenanceRepository.update(updated);
-                })
-                .toFuture();
+                });
     }
 
     /**
@@ -232,12 +308,88 @@ public class MaintenanceService {
         return statusHistoryRepository.findByMaintenanceId(maintenanceId);
     }
 
+    /**
+     * Exporta para auditoría los mantenimientos creados entre from y to (ambos días incluidos),
+     * con su historial de estados y sus piezas; el rango admite como máximo MAX_AUDIT_EXPORT_DAYS días.
+     * El rango se valida al invocar el método (no al suscribirse), para rechazarlo antes de abrir la descarga
+     */
+    public Flux<MaintenanceAuditRecord> exportAuditTrail(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Debe indicar las fechas from y to");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("La fecha to no puede ser anterior a from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AUDIT_EXPORT_DAYS) {
+            throw new IllegalArgumentException("El rango no puede superar " + MAX_AUDIT_EXPORT_DAYS + " días");
+        }
+
+        return maintenanceRepository.findAuditTrail(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
     /**
      * Verifica si un drone tiene mantenimiento activo
      */
-    public CompletableFuture<Boolean> hasActiveMaintenance(String droneId) {
-        return maintenanceRepository.existsActiveMaintenanceForDrone(droneId)
-                .toFuture();
+    public Mono<Boolean> hasActiveMaintenance(String droneId) {
+        return maintenanceRepository.existsActiveMaintenanceForDrone(droneId);
+    }
+
+    /**
+     * Verifica en una sola consulta qué drones de la lista tienen mantenimiento activo.
+     * El resultado conserva el orden de la lista recibida, sin duplicados
+     */
+    public Mono<Map<String, Boolean>> hasActiveMaintenance(List<String> droneIds) {
+        if (droneIds.size() > MAX_ACTIVE_CHECK_BATCH) {
+            return Mono.error(new IllegalArgumentException(
+                    "Se permiten como máximo " + MAX_ACTIVE_CHECK_BATCH + " drones por consulta"));
+        }
+
+        Set<String> distinctIds = new LinkedHashSet<>(droneIds);
+
+        return maintenanceRepository.findDroneIdsWithActiveMaintenance(distinctIds)
+                .collect(Collectors.toSet())
+                .map(activeIds -> {
+                    Map<String, Boolean> result = new LinkedHashMap<>();
+                    distinctIds.forEach(droneId -> result.put(droneId, activeIds.contains(droneId)));
+                    return result;
+                });
+    }
+
+    /**
+     * Registra un paso como observación (timer y span). El padre se toma del contexto de Reactor:
+     * el paso que lo contiene o la petición HTTP, de modo que la traza muestra la latencia por etapa
+     */
+    private <T> Mono<T> step(String name, Mono<T> step) {
+        return step.name(name).tap(Micrometer.observation(observationRegistry));
+    }
+
+    /**
+     * Método auxiliar que crea un registro PENDING por cada pieza activa del catálogo
+     */
+    private Mono<Void> createPendingPieces(String maintenanceId) {
+        Flux<MaintenancePieceEntity> maintenancePieces = pieceRepository.findAllActive()
+                .map(piece -> {
+                    LocalDateTime now = LocalDateTime.now();
+
+                    return new MaintenancePieceEntity(
+                            UUID.randomUUID().toString(),
+                            maintenanceId,
+                            piece.id(),
+                            MaintenancePieceStatus.PENDING,
+                            1,
+                            null,
+                            now,
+                            now
+                    );
+                });
+
+        return maintenancePieceRepository.saveAll(maintenancePieces)
+                .count()
+                .doOnSuccess(count -> logger.atDebug()
+                        .addKeyValue("maintenanceId", maintenanceId)
+                        .addKeyValue("pieces", count)
+                        .log("Registros de piezas creados"))
+                .then();
     }
 
     /**
@@ -259,10 +411,10 @@ public class MaintenanceService {
         );
 
         return statusHistoryRepository.save(history)
-                .doOnSuccess(saved ->
-                        logger.info("Registro de historial creado para mantenimiento {}: {}",
-                                maintenanceId, status)
-                );
+                .doOnSuccess(saved -> logger.atDebug()
+                        .addKeyValue("maintenanceId", maintenanceId)
+                        .addKeyValue("status", status)
+                        .log("Registro de historial creado"));
     }
 
     public static class MaintenanceNotFoundException extends RuntimeException {
@@ -1,15 +1,25 @@
 package co.cetad.umas.resource.application.service.operator;
 
+import co.cetad.umas.resource.application.service.imports.BulkImport;
 import co.cetad.umas.resource.domain.model.dto.OperatorRequestDTO;
 import co.cetad.umas.resource.domain.model.entity.OperatorEntity;
+import co.cetad.umas.resource.domain.model.vo.BatchLookup;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.ImportRow;
+import co.cetad.umas.resource.domain.model.vo.ImportRowResult;
 import co.cetad.umas.resource.domain.model.vo.OperatorStatus;
+import co.cetad.umas.resource.domain.model.vo.Page;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import co.cetad.umas.resource.domain.ports.out.OperatorRepository;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OperatorService {
@@ -28,17 +38,45 @@ public class OperatorService {
     }
 
     /**
-     * Obtiene un operador por su ID usando CompletableFuture
+     * Obtiene una página de operadores usando paginación por keyset sobre (created_at, id)
      */
-    public CompletableFuture<OperatorEntity> getOperatorById(String id) {
-        return operatorRepository.findById(id)
-                .toFuture();
+    public Mono<Page<OperatorEntity>> getOperatorsPage(String cursor, Integer limit) {
+        int pageSize = Page.normalizeLimit(limit);
+
+        return operatorRepository.findPage(PageCursor.decode(cursor), pageSize + 1)
+                .collectList()
+                .map(rows -> Page.fromSlice(rows, pageSize,
+                        entity -> new PageCursor(entity.createdAt(), entity.id())));
+    }
+
+    /**
+     * Versión de la colección de operadores para validar listados con ETag
+     */
+    public Mono<CollectionVersion> getOperatorsVersion() {
+        return operatorRepository.getVersion();
+    }
+
+    /**
+     * Obtiene un operador por su ID
+     */
+    public Mono<OperatorEntity> getOperatorById(String id) {
+        return operatorRepository.findById(id);
+    }
+
+    /**
+     * Obtiene varios operadores por ID en una sola consulta, en el orden solicitado e indicando los IDs inexistentes
+     */
+    public Mono<BatchLookup<OperatorEntity>> getOperatorsByIds(List<String> ids) {
+        return Mono.fromCallable(() -> BatchLookup.normalizeIds(ids))
+                .flatMap(requestedIds -> operatorRepository.findAllByIds(requestedIds)
+                        .collectList()
+                        .map(rows -> BatchLookup.of(requestedIds, rows, OperatorEntity::id)));
     }
 
     /**
      * Crea un nuevo operador
      */
-    public CompletableFuture<OperatorEntity> createOperator(OperatorRequestDTO request) {
+    public Mono<OperatorEntity> createOperator(OperatorRequestDTO request) {
         return validateUniqueFields(null, request.username(), request.email())
                 .flatMap(valid -> {
                     if (!valid) {
@@ -62,14 +100,24 @@ public class OperatorService {
                     );
 
                     return operatorRepository.save(newOperator);
-                })
-                .toFuture();
+                });
+    }
+
+    /**
+     * Importa operadores en bloque con un resultado por fila.
+     * Las reglas de validateUniqueFields (username y email únicos) las aplica la restricción UNIQUE dentro del INSERT
+     * de cada bloque, frente a los operadores existentes y entre filas del mismo archivo, sin consultas previas por fila.
+     * Solo para las filas rechazadas se consulta qué campo entró en conflicto
+     */
+    public Flux<ImportRowResult> importOperators(Flux<ImportRow<OperatorRequestDTO>> rows) {
+        return BulkImport.importRows(rows, this::newImportedOperator, OperatorEntity::id,
+                operatorRepository::saveBatch, this::importConflictReasons);
     }
 
     /**
      * Actualiza un operador existente
      */
-    public CompletableFuture<OperatorEntity> updateOperator(String id, OperatorRequestDTO request) {
+    public Mono<OperatorEntity> updateOperator(String id, OperatorRequestDTO request) {
         return operatorRepository.findById(id)
                 .flatMap(existing ->
                         validateUniqueFields(id, request.username(), request.email())
@@ -96,17 +144,62 @@ public class OperatorService {
 
                                     return operatorRepository.update(updatedOperator);
                                 })
-                )
-                .toFuture();
+                );
     }
 
     /**
      * Elimina un operador por su ID
      */
-    public CompletableFuture<Void> deleteOperator(String id) {
+    public Mono<Void> deleteOperator(String id) {
         return operatorRepository.findById(id)
-                .flatMap(existing -> operatorRepository.deleteById(id))
-                .toFuture();
+                .flatMap(existing -> operatorRepository.deleteById(id));
+    }
+
+    private OperatorEntity newImportedOperator(OperatorRequestDTO request) {
+        return new OperatorEntity(
+                UUID.randomUUID().toString(),
+                BulkImport.requireText(request.username(), "username"),
+                BulkImport.maxLength(request.fullName(), "fullName"),
+                BulkImport.requireText(request.email(), "email"),
+                BulkImport.maxLength(request.phoneNumber(), "phoneNumber", 50),
+                BulkImport.maxLength(request.ugcsUserId(), "ugcsUserId"),
+                BulkImport.maxLength(request.userKeycloak(), "userKeycloak"),
+                request.status() != null ? request.status() : OperatorStatus.ACTIVE,
+                request.isAvailable() != null ? request.isAvailable() : true,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Busca en una sola consulta los operadores que ya ocupan el username o el email de las filas rechazadas
+     * (incluidos los insertados por otra fila del mismo bloque) e indica en cada fila qué campo está repetido
+     */
+    private Mono<Function<OperatorEntity, String>> importConflictReasons(List<OperatorEntity> conflicts) {
+        List<String> usernames = conflicts.stream().map(OperatorEntity::username).toList();
+        List<String> emails = conflicts.stream().map(OperatorEntity::email).toList();
+
+        return operatorRepository.findByUsernamesOrEmails(usernames, emails)
+                .collectList()
+                .map(existing -> {
+                    Set<String> takenUsernames = existing.stream().map(OperatorEntity::username).collect(Collectors.toSet());
+                    Set<String> takenEmails = existing.stream().map(OperatorEntity::email).collect(Collectors.toSet());
+
+                    return operator -> {
+                        boolean username = takenUsernames.contains(operator.username());
+                        boolean email = takenEmails.contains(operator.email());
+                        if (username && email) {
+                            return "El username '" + operator.username() + "' y el email '" + operator.email() + "' ya existen";
+                        }
+                        if (username) {
+                            return "El username '" + operator.username() + "' ya existe";
+                        }
+                        if (email) {
+                            return "El email '" + operator.email() + "' ya existe";
+                        }
+                        return BulkImport.NOT_SAVED_MESSAGE;
+                    };
+                });
     }
 
     /**
@@ -0,0 +1,59 @@
+package co.cetad.umas.resource.application.service.piece;
+
+import co.cetad.umas.resource.domain.model.entity.PieceFailureStats;
+import co.cetad.umas.resource.domain.ports.out.PieceFailureStatsRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.YearMonth;
+
+@Service
+public class PieceAnalyticsService {
+
+    private static final int DEFAULT_RANKING_LIMIT = 20;
+    private static final int MAX_RANKING_LIMIT = 100;
+
+    /**
+     * Meses consultados cuando no se indica from: los últimos doce, incluido el actual
+     */
+    private static final int DEFAULT_MONTHS = 12;
+
+    private final PieceFailureStatsRepository pieceFailureStatsRepository;
+
+    public PieceAnalyticsService(PieceFailureStatsRepository pieceFailureStatsRepository) {
+        this.pieceFailureStatsRepository = pieceFailureStatsRepository;
+    }
+
+    /**
+     * Obtiene las piezas con mayor tasa de falla (dañadas o reemplazadas) por modelo de drone en el rango de meses
+     */
+    public Flux<PieceFailureStats> getFailureRanking(YearMonth from, YearMonth to, String droneModel, Integer limit) {
+        int rankingLimit = limit == null ? DEFAULT_RANKING_LIMIT : limit;
+        if (rankingLimit < 1) {
+            return Flux.error(new IllegalArgumentException("El límite debe ser mayor que cero"));
+        }
+
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1);
+        if (end.isBefore(start)) {
+            return Flux.error(new IllegalArgumentException("El mes to no puede ser anterior a from"));
+        }
+
+        return pieceFailureStatsRepository.findRanking(start, end, droneModel,
+                Math.min(rankingLimit, MAX_RANKING_LIMIT));
+    }
+
+    /**
+     * Obtiene la evolución mensual de revisiones y fallas de una pieza
+     */
+    public Flux<PieceFailureStats> getFailureTrend(String pieceId, YearMonth from, YearMonth to, String droneModel) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1);
+        if (end.isBefore(start)) {
+            return Flux.error(new IllegalArgumentException("El mes to no puede ser anterior a from"));
+        }
+
+        return pieceFailureStatsRepository.findMonthlyByPiece(pieceId, start, end, droneModel);
+    }
+
+}
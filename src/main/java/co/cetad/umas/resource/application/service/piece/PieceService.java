@@ -1,15 +1,22 @@
 package co.cetad.umas.resource.application.service.piece;
 
+import co.cetad.umas.resource.application.service.imports.BulkImport;
 import co.cetad.umas.resource.domain.model.dto.PieceCreateRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.PieceUpdateRequestDTO;
 import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.vo.BatchLookup;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.ImportRow;
+import co.cetad.umas.resource.domain.model.vo.ImportRowResult;
+import co.cetad.umas.resource.domain.model.vo.Page;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import co.cetad.umas.resource.domain.ports.out.PieceRepository;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Service
 public class PieceService {
@@ -27,6 +34,25 @@ public class PieceService {
         return pieceRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de piezas usando paginación por keyset sobre (created_at, id)
+     */
+    public Mono<Page<PieceEntity>> getPiecesPage(String cursor, Integer limit) {
+        int pageSize = Page.normalizeLimit(limit);
+
+        return pieceRepository.findPage(PageCursor.decode(cursor), pageSize + 1)
+                .collectList()
+                .map(rows -> Page.fromSlice(rows, pageSize,
+                        entity -> new PageCursor(entity.createdAt(), entity.id())));
+    }
+
+    /**
+     * Versión de la colección de piezas para validar listados con ETag
+     */
+    public Mono<CollectionVersion> getPiecesVersion() {
+        return pieceRepository.getVersion();
+    }
+
     /**
      * Obtiene todas las piezas activas
      */
@@ -35,18 +61,27 @@ public class PieceService {
     }
 
     /**
-     * Obtiene una pieza por su ID usando CompletableFuture
+     * Obtiene una pieza por su ID
      */
-    public CompletableFuture<PieceEntity> getPieceById(String id) {
+    public Mono<PieceEntity> getPieceById(String id) {
         return pieceRepository.findById(id)
-                .switchIfEmpty(Mono.error(new PieceNotFoundException("Piece not found with id: " + id)))
-                .toFuture();
+                .switchIfEmpty(Mono.error(new PieceNotFoundException("Piece not found with id: " + id)));
+    }
+
+    /**
+     * Obtiene varios piezas por ID en una sola consulta, en el orden solicitado e indicando los IDs inexistentes
+     */
+    public Mono<BatchLookup<PieceEntity>> getPiecesByIds(List<String> ids) {
+        return Mono.fromCallable(() -> BatchLookup.normalizeIds(ids))
+                .flatMap(requestedIds -> pieceRepository.findAllByIds(requestedIds)
+                        .collectList()
+                        .map(rows -> BatchLookup.of(requestedIds, rows, PieceEntity::id)));
     }
 
     /**
      * Crea una nueva pieza
      */
-    public CompletableFuture<PieceEntity> createPiece(PieceCreateRequestDTO request) {
+    public Mono<PieceEntity> createPiece(PieceCreateRequestDTO request) {
         return validateUniqueName(null, request.name())
                 .flatMap(valid -> {
                     if (!valid) {
@@ -65,14 +100,23 @@ public class PieceService {
                     );
 
                     return pieceRepository.save(newPiece);
-                })
-                .toFuture();
+                });
+    }
+
+    /**
+     * Importa piezas en bloque con un resultado por fila.
+     * La unicidad del nombre (la misma regla de createPiece) la garantiza la restricción UNIQUE dentro del INSERT,
+     * tanto frente al catálogo existente como entre filas del mismo archivo
+     */
+    public Flux<ImportRowResult> importPieces(Flux<ImportRow<PieceCreateRequestDTO>> rows) {
+        return BulkImport.importRows(rows, this::newImportedPiece, PieceEntity::id,
+                pieceRepository::saveBatch, BulkImport.sameReason("El nombre de la pieza ya existe"));
     }
 
     /**
      * Actualiza una pieza existente
      */
-    public CompletableFuture<PieceEntity> updatePiece(String id, PieceUpdateRequestDTO request) {
+    public Mono<PieceEntity> updatePiece(String id, PieceUpdateRequestDTO request) {
         return pieceRepository.findById(id)
                 .switchIfEmpty(Mono.error(new PieceNotFoundException("Piece not found with id: " + id)))
                 .flatMap(existing ->
@@ -95,18 +139,16 @@ public class PieceService {
 
                                     return pieceRepository.update(updatedPiece);
                                 })
-                )
-                .toFuture();
+                );
     }
 
     /**
      * Elimina una pieza por su ID (soft delete)
      */
-    public CompletableFuture<Void> deletePiece(String id) {
+    public Mono<Void> deletePiece(String id) {
         return pieceRepository.findById(id)
                 .switchIfEmpty(Mono.error(new PieceNotFoundException("Piece not found with id: " + id)))
-                .flatMap(existing -> pieceRepository.deleteById(id))
-                .toFuture();
+                .flatMap(existing -> pieceRepository.deleteById(id));
     }
 
     /**
@@ -127,6 +169,17 @@ public class PieceService {
                 });
     }
 
+    private PieceEntity newImportedPiece(PieceCreateRequestDTO request) {
+        return new PieceEntity(
+                UUID.randomUUID().toString(),
+                BulkImport.requireText(request.name(), "name"),
+                request.description(),
+                request.active() != null ? request.active() : true,
+                null,
+                null
+        );
+    }
+
     public static class PieceNotFoundException extends RuntimeException {
         public PieceNotFoundException(String message) {
             super(message);
@@ -0,0 +1,27 @@
+package co.cetad.umas.resource.application.service.status;
+
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeType;
+import co.cetad.umas.resource.domain.ports.out.StatusChangeNotifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+public class StatusChangeService {
+
+    private final StatusChangeNotifier statusChangeNotifier;
+
+    public StatusChangeService(StatusChangeNotifier statusChangeNotifier) {
+        this.statusChangeNotifier = statusChangeNotifier;
+    }
+
+    /**
+     * Obtiene el flujo en vivo de cambios de estado de la flota.
+     * Con type null se reciben los cambios de drones, mantenimientos y piezas
+     */
+    public Flux<StatusChangeEvent> getStatusChanges(StatusChangeType type) {
+        Flux<StatusChangeEvent> changes = statusChangeNotifier.changes();
+        return type == null ? changes : changes.filter(event -> event.type() == type);
+    }
+
+}
@@ -0,0 +1,8 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import java.util.List;
+
+public record BatchGetRequestDTO(
+        List<String> ids
+) {
+}
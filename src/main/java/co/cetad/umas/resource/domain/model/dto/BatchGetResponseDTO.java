@@ -0,0 +1,16 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import co.cetad.umas.resource.domain.model.vo.BatchLookup;
+
+import java.util.List;
+
+public record BatchGetResponseDTO<T>(
+        List<T> items,
+        List<String> missingIds
+) {
+
+    public static <T> BatchGetResponseDTO<T> of(BatchLookup<T> lookup) {
+        return new BatchGetResponseDTO<>(lookup.items(), lookup.missingIds());
+    }
+
+}
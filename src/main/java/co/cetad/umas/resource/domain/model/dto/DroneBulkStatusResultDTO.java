@@ -0,0 +1,10 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+
+public record DroneBulkStatusResultDTO(
+        String id,
+        DroneStatus status,
+        boolean updated
+) {
+}
@@ -0,0 +1,11 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+
+import java.util.List;
+
+public record DroneBulkStatusUpdateDTO(
+        List<String> ids,
+        DroneStatus status
+) {
+}
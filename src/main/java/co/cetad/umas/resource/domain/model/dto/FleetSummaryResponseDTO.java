@@ -0,0 +1,19 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record FleetSummaryResponseDTO(
+        long totalDrones,
+        Map<String, Long> dronesByStatus,
+        BigDecimal totalFlightHours,
+        long openMaintenances,
+        Map<String, Long> openMaintenancesByStatus,
+        long maintenancePieces,
+        Map<String, Long> maintenancePiecesByStatus,
+        BigDecimal damagedPieceRate,
+        BigDecimal replacedPieceRate,
+        LocalDateTime generatedAt
+) {
+}
@@ -0,0 +1,16 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import co.cetad.umas.resource.domain.model.vo.ImportRowResult;
+
+public record ImportRowResultDTO(
+        long line,
+        boolean imported,
+        String id,
+        String error
+) {
+
+    public static ImportRowResultDTO of(ImportRowResult result) {
+        return new ImportRowResultDTO(result.line(), result.isImported(), result.id(), result.error());
+    }
+
+}
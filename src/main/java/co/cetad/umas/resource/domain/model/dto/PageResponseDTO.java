@@ -0,0 +1,21 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import co.cetad.umas.resource.domain.model.vo.Page;
+
+import java.util.List;
+
+public record PageResponseDTO<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {
+
+    public static <T> PageResponseDTO<T> of(Page<T> page) {
+        return new PageResponseDTO<>(
+                page.items(),
+                page.nextCursor() != null ? page.nextCursor().encode() : null,
+                page.nextCursor() != null
+        );
+    }
+
+}
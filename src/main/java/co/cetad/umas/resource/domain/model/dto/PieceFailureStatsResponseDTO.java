@@ -0,0 +1,17 @@
+package co.cetad.umas.resource.domain.model.dto;
+
+import java.math.BigDecimal;
+
+public record PieceFailureStatsResponseDTO(
+        String pieceId,
+        String pieceName,
+        String droneModel,
+        String period,
+        long inspected,
+        long damaged,
+        long replaced,
+        BigDecimal damagedRate,
+        BigDecimal replacedRate,
+        BigDecimal failureRate
+) {
+}
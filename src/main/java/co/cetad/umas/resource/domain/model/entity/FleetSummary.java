@@ -0,0 +1,40 @@
+package co.cetad.umas.resource.domain.model.entity;
+
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Modelo de lectura del tablero de flota, calculado con consultas de agregación (GROUP BY) sobre
+ * drone, maintenance y maintenance_piece. Los mapas traen todos los estados, con 0 cuando no hay registros;
+ * los mantenimientos abiertos excluyen COMPLETED
+ */
+public record FleetSummary(
+        Map<DroneStatus, Long> dronesByStatus,
+        BigDecimal totalFlightHours,
+        Map<MaintenanceStatus, Long> openMaintenancesByStatus,
+        Map<MaintenancePieceStatus, Long> maintenancePiecesByStatus,
+        LocalDateTime generatedAt
+) {
+
+    public long totalDrones() {
+        return sum(dronesByStatus);
+    }
+
+    public long openMaintenances() {
+        return sum(openMaintenancesByStatus);
+    }
+
+    public long maintenancePieces() {
+        return sum(maintenancePiecesByStatus);
+    }
+
+    private static long sum(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+}
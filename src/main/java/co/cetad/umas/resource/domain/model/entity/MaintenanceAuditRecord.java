@@ -0,0 +1,28 @@
+package co.cetad.umas.resource.domain.model.entity;
+
+import co.cetad.umas.resource.domain.model.vo.MaintenanceAuditRecordType;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Modelo de lectura para la exportación de auditoría: una fila por mantenimiento, por cada cambio de estado
+ * (maintenance_status_history) y por cada pieza revisada (maintenance_piece), todas con los datos del mantenimiento.
+ * status es el estado del mantenimiento o de la pieza según recordType; los campos de pieza son null en las demás filas
+ */
+public record MaintenanceAuditRecord(
+        String maintenanceId,
+        String droneId,
+        MaintenanceStatus maintenanceStatus,
+        LocalDateTime maintenanceCreatedAt,
+        MaintenanceAuditRecordType recordType,
+        String recordId,
+        String status,
+        LocalDateTime occurredAt,
+        String changedBy,
+        String pieceId,
+        String pieceName,
+        Integer quantity,
+        String comment
+) {
+}
@@ -0,0 +1,11 @@
+package co.cetad.umas.resource.domain.model.entity;
+
+/**
+ * Modelo de lectura de una pieza de mantenimiento junto con los datos de catálogo de la pieza.
+ * Se obtiene con una única consulta JOIN entre maintenance_piece y piece.
+ */
+public record MaintenancePieceWithDetails(
+        MaintenancePieceEntity maintenancePiece,
+        PieceEntity piece
+) {
+}
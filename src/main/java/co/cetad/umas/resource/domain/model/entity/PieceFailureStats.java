@@ -0,0 +1,41 @@
+package co.cetad.umas.resource.domain.model.entity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+
+/**
+ * Modelo de lectura de la analítica de fallas de una pieza, agregado desde los contadores de piece_failure_stats.
+ * droneModel es null cuando el drone no tiene modelo; period es null en el ranking (agregado sobre el rango)
+ * e indica el mes en la serie mensual
+ */
+public record PieceFailureStats(
+        String pieceId,
+        String pieceName,
+        String droneModel,
+        YearMonth period,
+        long inspected,
+        long damaged,
+        long replaced
+) {
+
+    public BigDecimal damagedRate() {
+        return rate(damaged);
+    }
+
+    public BigDecimal replacedRate() {
+        return rate(replaced);
+    }
+
+    public BigDecimal failureRate() {
+        return rate(damaged + replaced);
+    }
+
+    private BigDecimal rate(long count) {
+        if (inspected == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(count).divide(BigDecimal.valueOf(inspected), 4, RoundingMode.HALF_UP);
+    }
+
+}
@@ -0,0 +1,76 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de una búsqueda de varios registros por ID.
+ * items conserva el orden de los IDs solicitados; missingIds lista los que no existen.
+ */
+public record BatchLookup<T>(
+        List<T> items,
+        List<String> missingIds
+) {
+
+    public static final int MAX_IDS = 500;
+
+    /**
+     * Valida los IDs solicitados (cantidad y formato UUID), los lleva a su forma canónica
+     * y elimina duplicados conservando el orden
+     */
+    public static List<String> normalizeIds(List<String> ids) {
+        return normalizeIds(ids, MAX_IDS);
+    }
+
+    /**
+     * Igual que {@link #normalizeIds(List)} con un máximo de IDs propio de la operación
+     */
+    public static List<String> normalizeIds(List<String> ids, int maxIds) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un id");
+        }
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("Se permiten como máximo " + maxIds + " ids por consulta");
+        }
+
+        LinkedHashSet<String> normalized = new LinkedHashSet<>();
+        for (String id : ids) {
+            try {
+                normalized.add(UUID.fromString(id).toString());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Id inválido: " + id);
+            }
+        }
+        return List.copyOf(normalized);
+    }
+
+    /**
+     * Ordena las filas encontradas según los IDs solicitados y registra los faltantes
+     */
+    public static <T> BatchLookup<T> of(List<String> requestedIds, List<T> rows, Function<T, String> idOf) {
+        Map<String, T> byId = rows.stream()
+                .collect(Collectors.toMap(idOf, Function.identity(), (first, second) -> first));
+
+        List<T> items = new ArrayList<>(byId.size());
+        List<String> missingIds = new ArrayList<>();
+        for (String id : requestedIds) {
+            T row = byId.get(id);
+            if (row != null) {
+                items.add(row);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BatchLookup<>(List.copyOf(items), List.copyOf(missingIds));
+    }
+
+    public <R> BatchLookup<R> map(Function<T, R> mapper) {
+        return new BatchLookup<>(items.stream().map(mapper).toList(), missingIds);
+    }
+
+}
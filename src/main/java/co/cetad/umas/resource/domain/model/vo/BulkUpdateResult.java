@@ -0,0 +1,10 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+/**
+ * Resultado por ID de una actualización en bloque; updated es false cuando el registro no existe
+ */
+public record BulkUpdateResult(
+        String id,
+        boolean updated
+) {
+}
@@ -0,0 +1,11 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+/**
+ * Versión de una tabla para validar listados en caché del cliente. La mantiene la base de datos
+ * (collection_version, V5) y crece en el orden en que se confirman las escrituras: si coincide,
+ * ningún listado de la tabla ha cambiado.
+ */
+public record CollectionVersion(
+        long version
+) {
+}
@@ -0,0 +1,21 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+/**
+ * Fila leída de un archivo de importación.
+ * line es el número de línea en el archivo; si la fila no se pudo interpretar, request es null y error indica el motivo
+ */
+public record ImportRow<T>(
+        long line,
+        T request,
+        String error
+) {
+
+    public static <T> ImportRow<T> valid(long line, T request) {
+        return new ImportRow<>(line, request, null);
+    }
+
+    public static <T> ImportRow<T> invalid(long line, String error) {
+        return new ImportRow<>(line, null, error);
+    }
+
+}
@@ -0,0 +1,24 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+/**
+ * Resultado de importar una fila: el ID creado o el motivo del rechazo
+ */
+public record ImportRowResult(
+        long line,
+        String id,
+        String error
+) {
+
+    public static ImportRowResult imported(long line, String id) {
+        return new ImportRowResult(line, id, null);
+    }
+
+    public static ImportRowResult rejected(long line, String error) {
+        return new ImportRowResult(line, null, error);
+    }
+
+    public boolean isImported() {
+        return error == null;
+    }
+
+}
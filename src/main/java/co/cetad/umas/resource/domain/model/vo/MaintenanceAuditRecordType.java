@@ -0,0 +1,18 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+import lombok.Getter;
+
+@Getter
+public enum MaintenanceAuditRecordType {
+
+    MAINTENANCE("Mantenimiento"),
+    STATUS_CHANGE("Cambio de estado"),
+    PIECE("Pieza de mantenimiento");
+
+    private final String type;
+
+    MaintenanceAuditRecordType(String type) {
+        this.type = type;
+    }
+
+}
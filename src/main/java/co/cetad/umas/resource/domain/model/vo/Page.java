@@ -0,0 +1,47 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de una consulta por keyset.
+ * nextCursor es null cuando no quedan más registros.
+ */
+public record Page<T>(
+        List<T> items,
+        PageCursor nextCursor
+) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    /**
+     * Valida el tamaño de página solicitado y lo acota a MAX_LIMIT
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("El límite de página debe ser mayor que cero");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Construye la página a partir de las filas leídas con limit + 1:
+     * si llegó la fila extra, hay página siguiente y el cursor apunta a la última fila devuelta
+     */
+    public static <T> Page<T> fromSlice(List<T> rows, int limit, Function<T, PageCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)));
+    }
+
+    public <R> Page<R> map(Function<T, R> mapper) {
+        return new Page<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+}
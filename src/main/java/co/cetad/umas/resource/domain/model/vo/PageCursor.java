@@ -0,0 +1,47 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor de paginación por keyset sobre (created_at, id).
+ * Se serializa como base64 URL-safe de "createdAt|id" para que el cliente lo trate como opaco.
+ */
+public record PageCursor(
+        LocalDateTime createdAt,
+        String id
+) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decodifica un cursor recibido del cliente; devuelve null si no se envió ninguno
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(decoded.substring(0, separator));
+            String id = UUID.fromString(decoded.substring(separator + 1)).toString();
+            return new PageCursor(createdAt, id);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,33 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de estado de un drone, mantenimiento o pieza de mantenimiento.
+ * parentId identifica al dueño del registro: el drone de un mantenimiento o el mantenimiento de una pieza;
+ * es null para los drones.
+ */
+public record StatusChangeEvent(
+        StatusChangeType type,
+        String id,
+        String parentId,
+        String status,
+        LocalDateTime changedAt
+) {
+
+    public static StatusChangeEvent drone(String droneId, DroneStatus status) {
+        return new StatusChangeEvent(StatusChangeType.DRONE, droneId, null, status.name(), LocalDateTime.now());
+    }
+
+    public static StatusChangeEvent maintenance(String maintenanceId, String droneId, MaintenanceStatus status) {
+        return new StatusChangeEvent(StatusChangeType.MAINTENANCE, maintenanceId, droneId, status.name(),
+                LocalDateTime.now());
+    }
+
+    public static StatusChangeEvent maintenancePiece(String maintenancePieceId, String maintenanceId,
+                                                     MaintenancePieceStatus status) {
+        return new StatusChangeEvent(StatusChangeType.MAINTENANCE_PIECE, maintenancePieceId, maintenanceId,
+                status.name(), LocalDateTime.now());
+    }
+
+}
@@ -0,0 +1,18 @@
+package co.cetad.umas.resource.domain.model.vo;
+
+import lombok.Getter;
+
+@Getter
+public enum StatusChangeType {
+
+    DRONE("Drone"),
+    MAINTENANCE("Mantenimiento"),
+    MAINTENANCE_PIECE("Pieza de mantenimiento");
+
+    private final String type;
+
+    StatusChangeType(String type) {
+        this.type = type;
+    }
+
+}
@@ -1,10 +1,14 @@
 package co.cetad.umas.resource.domain.ports.out;
 
 import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
 import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface DroneRepository {
@@ -14,6 +18,17 @@ public interface DroneRepository {
      */
     Flux<DroneEntity> findAll();
 
+    /**
+     * Obtiene una página de drones ordenada por (created_at, id) descendente.
+     * Con cursor null devuelve la primera página; en otro caso los registros posteriores al cursor
+     */
+    Flux<DroneEntity> findPage(PageCursor after, int limit);
+
+    /**
+     * Versión de la tabla (crece con cada escritura confirmada), para validar listados sin consultarlos
+     */
+    Mono<CollectionVersion> getVersion();
+
     /**
      * Busca todos los drones por estado
      */
@@ -24,19 +39,37 @@ public interface DroneRepository {
      */
     Mono<Optional<DroneEntity>> findById(String id);
 
+    /**
+     * Busca varios drones por ID en una sola consulta; los IDs inexistentes se omiten y el orden no está garantizado
+     */
+    Flux<DroneEntity> findAllByIds(Collection<String> ids);
+
     /**
      * Guarda un nuevo drone
      */
     Mono<DroneEntity> save(DroneEntity drone);
 
+    /**
+     * Inserta un bloque de drones en una sola sentencia.
+     * Las filas que chocan con un registro existente se omiten; se devuelven solo los drones insertados
+     */
+    Flux<DroneEntity> saveBatch(List<DroneEntity> drones);
+
     /**
      * Actualiza un drone existente
      */
     Mono<DroneEntity> update(DroneEntity drone);
 
     /**
-     * Actualiza solo el estado de un drone
+     * Actualiza solo el estado de un drone y devuelve la fila tal como quedó en la base de datos;
+     * vacío si el drone no existe
+     */
+    Mono<DroneEntity> updateStatus(String id, DroneStatus status);
+
+    /**
+     * Actualiza el estado de varios drones en una sola sentencia y devuelve los drones actualizados;
+     * los IDs inexistentes se omiten
      */
-    Mono<Void> updateStatus(String id, DroneStatus status);
+    Flux<DroneEntity> updateStatusBulk(Collection<String> ids, DroneStatus status);
 
 }
\ No newline at end of file
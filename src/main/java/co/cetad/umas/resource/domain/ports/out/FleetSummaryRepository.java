@@ -0,0 +1,13 @@
+package co.cetad.umas.resource.domain.ports.out;
+
+import co.cetad.umas.resource.domain.model.entity.FleetSummary;
+import reactor.core.publisher.Mono;
+
+public interface FleetSummaryRepository {
+
+    /**
+     * Calcula el resumen de la flota con agregaciones en la base de datos, sin traer filas individuales
+     */
+    Mono<FleetSummary> getSummary();
+
+}
@@ -1,6 +1,7 @@
 package co.cetad.umas.resource.domain.ports.out;
 
 import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceWithDetails;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -11,6 +12,11 @@ public interface MaintenancePieceRepository {
      */
     Flux<MaintenancePieceEntity> findByMaintenanceId(String maintenanceId);
 
+    /**
+     * Obtiene todas las piezas de un mantenimiento junto con el detalle de cada pieza (una sola consulta)
+     */
+    Flux<MaintenancePieceWithDetails> findByMaintenanceIdWithDetails(String maintenanceId);
+
     /**
      * Obtiene una pieza específica de un mantenimiento
      */
@@ -1,10 +1,16 @@
 package co.cetad.umas.resource.domain.ports.out;
 
+import co.cetad.umas.resource.domain.model.entity.MaintenanceAuditRecord;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
 import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 public interface MaintenanceRepository {
 
     /**
@@ -12,11 +18,27 @@ public interface MaintenanceRepository {
      */
     Flux<MaintenanceEntity> findAll();
 
+    /**
+     * Obtiene una página de mantenimientos ordenada por (created_at, id) descendente.
+     * Con cursor null devuelve la primera página; en otro caso los registros posteriores al cursor
+     */
+    Flux<MaintenanceEntity> findPage(PageCursor after, int limit);
+
+    /**
+     * Versión de la tabla (crece con cada escritura confirmada), para validar listados sin consultarlos
+     */
+    Mono<CollectionVersion> getVersion();
+
     /**
      * Obtiene un mantenimiento por su ID
      */
     Mono<MaintenanceEntity> findById(String id);
 
+    /**
+     * Busca varios mantenimientos por ID en una sola consulta; los IDs inexistentes se omiten y el orden no está garantizado
+     */
+    Flux<MaintenanceEntity> findAllByIds(Collection<String> ids);
+
     /**
      * Obtiene todos los mantenimientos de un drone específico (HISTORIAL DEL DRONE)
      * Ordenados por fecha de creación descendente (más recientes primero)
@@ -44,4 +66,15 @@ public interface MaintenanceRepository {
      */
     Mono<Boolean> existsActiveMaintenanceForDrone(String droneId);
 
+    /**
+     * De una lista de drones, devuelve los IDs de los que tienen un mantenimiento activo (una sola consulta)
+     */
+    Flux<String> findDroneIdsWithActiveMaintenance(Collection<String> droneIds);
+
+    /**
+     * Recorre en una sola consulta los mantenimientos creados en [from, to) con su historial de estados
+     * y sus piezas, ordenados por mantenimiento; las filas se leen del cursor a medida que se consumen
+     */
+    Flux<MaintenanceAuditRecord> findAuditTrail(LocalDateTime from, LocalDateTime to);
+
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
 package co.cetad.umas.resource.domain.ports.out;
 
 import co.cetad.umas.resource.domain.model.entity.OperatorEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface OperatorRepository {
 
     /**
@@ -11,16 +16,39 @@ public interface OperatorRepository {
      */
     Flux<OperatorEntity> findAll();
 
+    /**
+     * Obtiene una página de operadores ordenada por (created_at, id) descendente.
+     * Con cursor null devuelve la primera página; en otro caso los registros posteriores al cursor
+     */
+    Flux<OperatorEntity> findPage(PageCursor after, int limit);
+
+    /**
+     * Versión de la tabla (crece con cada escritura confirmada), para validar listados sin consultarlos
+     */
+    Mono<CollectionVersion> getVersion();
+
     /**
      * Obtiene un operador por su ID
      */
     Mono<OperatorEntity> findById(String id);
 
+    /**
+     * Busca varios operadores por ID en una sola consulta; los IDs inexistentes se omiten y el orden no está garantizado
+     */
+    Flux<OperatorEntity> findAllByIds(Collection<String> ids);
+
     /**
      * Guarda un nuevo operador
      */
     Mono<OperatorEntity> save(OperatorEntity operator);
 
+    /**
+     * Inserta un bloque de operadores en una sola sentencia.
+     * Las filas cuyo username o email ya existe (o se repite dentro del bloque) se omiten;
+     * se devuelven solo los operadores insertados
+     */
+    Flux<OperatorEntity> saveBatch(List<OperatorEntity> operators);
+
     /**
      * Actualiza un operador existente
      */
@@ -41,4 +69,9 @@ public interface OperatorRepository {
      */
     Mono<Boolean> existsByEmail(String email);
 
+    /**
+     * Busca en una sola consulta los operadores cuyo username o email está entre los indicados
+     */
+    Flux<OperatorEntity> findByUsernamesOrEmails(Collection<String> usernames, Collection<String> emails);
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package co.cetad.umas.resource.domain.ports.out;
+
+import co.cetad.umas.resource.domain.model.entity.PieceFailureStats;
+import reactor.core.publisher.Flux;
+
+import java.time.YearMonth;
+
+public interface PieceFailureStatsRepository {
+
+    /**
+     * Ranking de piezas por tasa de falla (dañadas + reemplazadas sobre revisadas) por pieza y modelo de drone,
+     * para los mantenimientos creados entre los meses from y to (incluidos). Con droneModel null incluye todos los modelos
+     */
+    Flux<PieceFailureStats> findRanking(YearMonth from, YearMonth to, String droneModel, int limit);
+
+    /**
+     * Serie mensual de revisiones y fallas de una pieza, sumando todos los modelos si droneModel es null
+     */
+    Flux<PieceFailureStats> findMonthlyByPiece(String pieceId, YearMonth from, YearMonth to, String droneModel);
+
+}
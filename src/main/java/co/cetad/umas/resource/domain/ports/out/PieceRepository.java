@@ -1,9 +1,14 @@
 package co.cetad.umas.resource.domain.ports.out;
 
 import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface PieceRepository {
 
     /**
@@ -11,6 +16,17 @@ public interface PieceRepository {
      */
     Flux<PieceEntity> findAll();
 
+    /**
+     * Obtiene una página de piezas ordenada por (created_at, id) descendente.
+     * Con cursor null devuelve la primera página; en otro caso los registros posteriores al cursor
+     */
+    Flux<PieceEntity> findPage(PageCursor after, int limit);
+
+    /**
+     * Versión de la tabla (crece con cada escritura confirmada), para validar listados sin consultarlos
+     */
+    Mono<CollectionVersion> getVersion();
+
     /**
      * Obtiene todas las piezas activas
      */
@@ -21,11 +37,22 @@ public interface PieceRepository {
      */
     Mono<PieceEntity> findById(String id);
 
+    /**
+     * Busca varios piezas por ID en una sola consulta; los IDs inexistentes se omiten y el orden no está garantizado
+     */
+    Flux<PieceEntity> findAllByIds(Collection<String> ids);
+
     /**
      * Guarda una nueva pieza
      */
     Mono<PieceEntity> save(PieceEntity piece);
 
+    /**
+     * Inserta un bloque de piezas en una sola sentencia.
+     * Las filas cuyo nombre ya existe (o se repite dentro del bloque) se omiten; se devuelven solo las piezas insertadas
+     */
+    Flux<PieceEntity> saveBatch(List<PieceEntity> pieces);
+
     /**
      * Actualiza una pieza existente
      */
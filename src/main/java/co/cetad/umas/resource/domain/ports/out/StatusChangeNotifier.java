@@ -0,0 +1,27 @@
+package co.cetad.umas.resource.domain.ports.out;
+
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+public interface StatusChangeNotifier {
+
+    /**
+     * Publica un cambio de estado. Dentro de una transacción el evento se entrega solo al hacer commit
+     */
+    Mono<Void> publish(StatusChangeEvent event);
+
+    /**
+     * Publica varios cambios de estado en una sola sentencia
+     */
+    Mono<Void> publishAll(Collection<StatusChangeEvent> events);
+
+    /**
+     * Flujo compartido con los cambios de estado de toda la flota; todos los suscriptores
+     * reciben los eventos de una única escucha sobre la base de datos
+     */
+    Flux<StatusChangeEvent> changes();
+
+}
@@ -0,0 +1,36 @@
+package co.cetad.umas.resource.infrastructure.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publica los contadores del logging asíncrono: eventos perdidos por cola llena o descartados por el
+ * discardingThreshold ({@link MeteredAsyncAppender}) y eventos omitidos por muestreo ({@link SamplingTurboFilter}).
+ * Con el perfil por defecto (appender de consola síncrono) los contadores permanecen en cero.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("umas.logging.events.dropped", MeteredAsyncAppender.class,
+                        appender -> MeteredAsyncAppender.queueFullCount())
+                .description("Eventos de log perdidos antes de escribirse")
+                .tag("reason", "queue-full")
+                .register(registry);
+
+        FunctionCounter.builder("umas.logging.events.dropped", MeteredAsyncAppender.class,
+                        appender -> MeteredAsyncAppender.discardedCount())
+                .description("Eventos de log perdidos antes de escribirse")
+                .tag("reason", "discarded")
+                .register(registry);
+
+        FunctionCounter.builder("umas.logging.events.sampled", SamplingTurboFilter.class,
+                        filter -> SamplingTurboFilter.sampledOutCount())
+                .description("Eventos de log omitidos por muestreo")
+                .register(registry);
+    }
+
+}
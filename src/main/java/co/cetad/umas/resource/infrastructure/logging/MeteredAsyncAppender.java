@@ -0,0 +1,46 @@
+package co.cetad.umas.resource.infrastructure.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} que cuenta los eventos que no llegan a escribirse. Con neverBlock el hilo que registra
+ * nunca espera al appender: si la cola está llena el evento se pierde, y por debajo del discardingThreshold
+ * se descartan los eventos TRACE/DEBUG/INFO. Logback se configura antes que Spring, por eso los contadores
+ * son estáticos; {@link LoggingMetrics} los publica como umas.logging.events.dropped.
+ */
+public class MeteredAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder QUEUE_FULL = new LongAdder();
+    private static final LongAdder DISCARDED = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // Con la cola llena el offer de neverBlock lo descartaría sin aviso; se cuenta y se evita el preprocesado
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            QUEUE_FULL.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            DISCARDED.increment();
+        }
+        return discardable;
+    }
+
+    static long queueFullCount() {
+        return QUEUE_FULL.sum();
+    }
+
+    static long discardedCount() {
+        return DISCARDED.sum();
+    }
+
+}
@@ -0,0 +1,80 @@
+package co.cetad.umas.resource.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Muestrea eventos de alto volumen: para los loggers bajo {@code loggerPrefix} y de nivel {@code level} o inferior
+ * deja pasar uno de cada {@code keepOneIn} por plantilla de mensaje. Contar por plantilla evita que un mensaje
+ * frecuente oculte a uno raro del mismo logger; la primera aparición de cada plantilla siempre se registra.
+ * WARN y ERROR no se muestrean salvo que {@code level} los incluya expresamente.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final LongAdder SAMPLED_OUT = new LongAdder();
+
+    /**
+     * Las plantillas son literales del código, así que el número de claves está acotado
+     */
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private String loggerPrefix = "";
+    private Level level = Level.INFO;
+    private int keepOneIn = 10;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level eventLevel, String format, Object[] params, Throwable t) {
+        // format es null en isDebugEnabled() y similares: no se interfiere con esas comprobaciones
+        if (format == null || !isStarted()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (eventLevel.levelInt > level.levelInt || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        // Eventos que el nivel del logger ya descarta no consumen muestra
+        if (!eventLevel.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long seen = counters.computeIfAbsent(format, key -> new AtomicLong()).getAndIncrement();
+        if (seen % keepOneIn == 0) {
+            return FilterReply.NEUTRAL;
+        }
+        SAMPLED_OUT.increment();
+        return FilterReply.DENY;
+    }
+
+    @Override
+    public void start() {
+        if (keepOneIn < 1) {
+            addError("keepOneIn debe ser mayor que cero");
+            return;
+        }
+        super.start();
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setLevel(String level) {
+        this.level = Level.toLevel(level, Level.INFO);
+    }
+
+    public void setKeepOneIn(int keepOneIn) {
+        this.keepOneIn = keepOneIn;
+    }
+
+    static long sampledOutCount() {
+        return SAMPLED_OUT.sum();
+    }
+
+}
@@ -0,0 +1,257 @@
+package co.cetad.umas.resource.infrastructure.persistence.cache;
+
+import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
+import co.cetad.umas.resource.domain.ports.out.DroneRepository;
+import co.cetad.umas.resource.infrastructure.persistence.notification.PostgresNotifications;
+import co.cetad.umas.resource.infrastructure.persistence.repository.DroneR2dbcRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorador de {@link DroneRepository} con una caché de drones por ID acotada y con TTL.
+ * Las escrituras (save, update, updateStatus, incluido el cambio de estado que hacen los mantenimientos)
+ * descartan la entrada en memoria al terminar la transacción que las contiene (o enseguida si no hay
+ * transacción). En ese momento también se incrementa la generación y se suelta la lectura compartida en
+ * curso: ninguna carga que pudo leer la fila anterior al commit llega a publicarse en la caché.
+ * Con umas.cache.drones.cross-node-invalidation cada escritura se avisa por NOTIFY al resto de instancias,
+ * que descartan su copia al confirmarse la transacción.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "umas.cache.drones.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedDroneRepository implements DroneRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedDroneRepository.class);
+
+    private final DroneR2dbcRepository delegate;
+    private final PostgresNotifications notifications;
+    private final Cache<String, DroneEntity> byId;
+    private final boolean crossNodeInvalidation;
+    private final String channel;
+
+    /**
+     * Identifica a esta instancia en los mensajes de invalidación para ignorar los propios
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Se incrementa en cada escritura confirmada; una carga iniciada antes no se publica
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private Disposable invalidationSubscription;
+
+    public CachedDroneRepository(
+            DroneR2dbcRepository delegate,
+            PostgresNotifications notifications,
+            MeterRegistry meterRegistry,
+            @Value("${umas.cache.drones.ttl:60s}") Duration ttl,
+            @Value("${umas.cache.drones.maximum-size:10000}") long maximumSize,
+            @Value("${umas.cache.drones.cross-node-invalidation:false}") boolean crossNodeInvalidation,
+            @Value("${umas.cache.drones.channel:umas_drone_cache}") String channel) {
+        this.delegate = delegate;
+        this.notifications = notifications;
+        this.crossNodeInvalidation = crossNodeInvalidation;
+        this.channel = channel;
+        this.byId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "drones");
+    }
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        if (!crossNodeInvalidation) {
+            return;
+        }
+
+        invalidationSubscription = notifications.listen(channel)
+                .subscribe(this::onInvalidation,
+                        error -> logger.error("Escucha de invalidaciones de drones terminada", error));
+    }
+
+    @PreDestroy
+    void unsubscribeFromInvalidations() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
+    }
+
+    @Override
+    public Flux<DroneEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<DroneEntity> findPage(PageCursor after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public Flux<DroneEntity> findByStatus(DroneStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public Mono<Optional<DroneEntity>> findById(String id) {
+        DroneEntity cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(Optional.of(cached));
+        }
+
+        long loadGeneration = generation.get();
+
+        return delegate.findById(id)
+                .doOnNext(drone -> drone.ifPresent(found -> publish(found, loadGeneration)));
+    }
+
+    /**
+     * Responde desde la caché los drones conocidos y consulta el resto en una sola sentencia
+     */
+    @Override
+    public Flux<DroneEntity> findAllByIds(Collection<String> ids) {
+        Map<String, DroneEntity> cached = byId.getAllPresent(ids);
+        List<String> misses = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        if (misses.isEmpty()) {
+            return Flux.fromIterable(cached.values());
+        }
+
+        long loadGeneration = generation.get();
+
+        Flux<DroneEntity> loaded = delegate.findAllByIds(misses)
+                .doOnNext(drone -> publish(drone, loadGeneration));
+
+        return Flux.fromIterable(cached.values()).concatWith(loaded);
+    }
+
+    @Override
+    public Mono<DroneEntity> save(DroneEntity drone) {
+        return delegate.save(drone)
+                .flatMap(saved -> invalidateAfterCompletion(List.of(saved.id())).thenReturn(saved));
+    }
+
+    /**
+     * Los drones importados en bloque no se cargan en memoria; se leerán bajo demanda
+     */
+    @Override
+    public Flux<DroneEntity> saveBatch(List<DroneEntity> drones) {
+        return delegate.saveBatch(drones);
+    }
+
+    @Override
+    public Mono<DroneEntity> update(DroneEntity drone) {
+        return delegate.update(drone)
+                .flatMap(updated -> invalidateAfterCompletion(List.of(updated.id())).thenReturn(updated));
+    }
+
+    @Override
+    public Mono<DroneEntity> updateStatus(String id, DroneStatus status) {
+        return delegate.updateStatus(id, status)
+                .flatMap(updated -> invalidateAfterCompletion(List.of(updated.id())).thenReturn(updated));
+    }
+
+    @Override
+    public Flux<DroneEntity> updateStatusBulk(Collection<String> ids, DroneStatus status) {
+        return delegate.updateStatusBulk(ids, status)
+                .collectList()
+                .flatMapMany(updated -> invalidateAfterCompletion(updated.stream().map(DroneEntity::id).toList())
+                        .thenMany(Flux.fromIterable(updated)));
+    }
+
+    /**
+     * Descarta las entradas cuando la transacción en curso termina, confirmada o no, y avisa a las demás
+     * instancias (el NOTIFY sale con el mismo commit). Descartar antes del commit no sirve: una lectura
+     * concurrente volvería a cargar la fila anterior y la dejaría en caché durante todo el TTL
+     */
+    private Mono<Void> invalidateAfterCompletion(List<String> ids) {
+        Mono<Void> local = TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        ids.forEach(id -> invalidate(id));
+                        return Mono.empty();
+                    }
+                }))
+                .switchIfEmpty(Mono.fromRunnable(() -> ids.forEach(this::invalidate)))
+                .onErrorResume(NoTransactionException.class,
+                        e -> Mono.fromRunnable(() -> ids.forEach(this::invalidate)))
+                .then();
+
+        Mono<Void> crossNode = crossNodeInvalidation
+                ? notifications.notifyAll(channel, ids.stream().map(id -> nodeId + ":" + id).toList())
+                : Mono.empty();
+
+        return local.then(crossNode);
+    }
+
+    /**
+     * Publica una carga solo si no hubo escrituras confirmadas desde que empezó. La segunda comprobación
+     * cubre la escritura que se confirma entre la primera y el put
+     */
+    private void publish(DroneEntity drone, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        byId.put(drone.id(), drone);
+        if (generation.get() != loadGeneration) {
+            byId.invalidate(drone.id());
+        }
+    }
+
+    private void onInvalidation(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.startsWith(nodeId + ":")) {
+            return;
+        }
+        invalidate(payload.substring(separator + 1));
+    }
+
+    /**
+     * Orden importante: primero se suelta la lectura compartida para que nadie más se una a ella,
+     * luego se cambia la generación para que las cargas ya iniciadas no se publiquen
+     */
+    private void invalidate(String id) {
+        delegate.forgetInFlight(id);
+        generation.incrementAndGet();
+        byId.invalidate(id);
+    }
+
+}
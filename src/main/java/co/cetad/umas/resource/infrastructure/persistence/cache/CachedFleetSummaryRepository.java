@@ -0,0 +1,86 @@
+package co.cetad.umas.resource.infrastructure.persistence.cache;
+
+import co.cetad.umas.resource.domain.model.entity.FleetSummary;
+import co.cetad.umas.resource.domain.ports.out.FleetSummaryRepository;
+import co.cetad.umas.resource.domain.ports.out.StatusChangeNotifier;
+import co.cetad.umas.resource.infrastructure.persistence.repository.FleetSummaryR2dbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decorador de {@link FleetSummaryRepository} que sirve una instantánea del resumen de flota.
+ * La instantánea se recalcula en la primera lectura tras vencer el TTL y, con
+ * umas.cache.fleet-summary.refresh-on-change, también tras cualquier cambio de estado publicado
+ * en el canal de LISTEN/NOTIFY (de esta u otra instancia). Las lecturas concurrentes comparten un único cálculo.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "umas.cache.fleet-summary.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedFleetSummaryRepository implements FleetSummaryRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedFleetSummaryRepository.class);
+
+    private final FleetSummaryR2dbcRepository delegate;
+    private final StatusChangeNotifier statusChangeNotifier;
+    private final Duration ttl;
+    private final boolean refreshOnChange;
+    private final AtomicReference<Mono<FleetSummary>> snapshot = new AtomicReference<>();
+
+    private Disposable changeSubscription;
+
+    public CachedFleetSummaryRepository(
+            FleetSummaryR2dbcRepository delegate,
+            StatusChangeNotifier statusChangeNotifier,
+            @Value("${umas.cache.fleet-summary.ttl:30s}") Duration ttl,
+            @Value("${umas.cache.fleet-summary.refresh-on-change:true}") boolean refreshOnChange) {
+        this.delegate = delegate;
+        this.statusChangeNotifier = statusChangeNotifier;
+        this.ttl = ttl;
+        this.refreshOnChange = refreshOnChange;
+        this.snapshot.set(newSnapshot());
+    }
+
+    @PostConstruct
+    void subscribeToChanges() {
+        if (!refreshOnChange) {
+            return;
+        }
+
+        changeSubscription = statusChangeNotifier.changes()
+                .subscribe(event -> snapshot.set(newSnapshot()),
+                        error -> logger.error("Escucha de cambios para el resumen de flota terminada", error));
+    }
+
+    @PreDestroy
+    void unsubscribeFromChanges() {
+        if (changeSubscription != null) {
+            changeSubscription.dispose();
+        }
+    }
+
+    @Override
+    public Mono<FleetSummary> getSummary() {
+        return snapshot.get();
+    }
+
+    /**
+     * Cálculo perezoso compartido: se ejecuta en la primera suscripción y se reutiliza durante el TTL;
+     * los errores no se guardan
+     */
+    private Mono<FleetSummary> newSnapshot() {
+        return delegate.getSummary()
+                .cache(summary -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+}
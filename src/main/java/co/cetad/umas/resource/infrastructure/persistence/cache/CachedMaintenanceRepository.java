@@ -0,0 +1,200 @@
+package co.cetad.umas.resource.infrastructure.persistence.cache;
+
+import co.cetad.umas.resource.domain.model.entity.MaintenanceAuditRecord;
+import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
+import co.cetad.umas.resource.domain.ports.out.MaintenanceRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenanceR2dbcRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorador de {@link MaintenanceRepository} que guarda por drone el resultado de la verificación
+ * de mantenimiento activo durante un TTL corto. Crear o actualizar un mantenimiento invalida la entrada
+ * de su drone al terminar la transacción que lo contiene (o enseguida si no hay transacción): una consulta
+ * que lea la fila anterior al commit no puede dejar en caché un "sin mantenimiento" que ya no es cierto.
+ * La lectura por ID agrupada en curso la suelta el propio {@link MaintenanceR2dbcRepository} en save y update,
+ * con o sin este decorador.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "umas.cache.active-maintenance.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedMaintenanceRepository implements MaintenanceRepository {
+
+    private final MaintenanceR2dbcRepository delegate;
+    private final Cache<String, Boolean> activeByDrone;
+
+    /**
+     * Se incrementa en cada invalidación; una carga iniciada antes de una escritura no se publica
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public CachedMaintenanceRepository(
+            MaintenanceR2dbcRepository delegate,
+            MeterRegistry meterRegistry,
+            @Value("${umas.cache.active-maintenance.ttl:5s}") Duration ttl,
+            @Value("${umas.cache.active-maintenance.maximum-size:10000}") long maximumSize) {
+        this.delegate = delegate;
+        this.activeByDrone = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, activeByDrone, "activeMaintenance");
+    }
+
+    @Override
+    public Flux<MaintenanceEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<MaintenanceEntity> findPage(PageCursor after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public Mono<MaintenanceEntity> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Flux<MaintenanceEntity> findAllByIds(Collection<String> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public Flux<MaintenanceEntity> findByDroneId(String droneId) {
+        return delegate.findByDroneId(droneId);
+    }
+
+    @Override
+    public Flux<MaintenanceEntity> findByStatus(MaintenanceStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public Mono<MaintenanceEntity> save(MaintenanceEntity maintenance) {
+        return delegate.save(maintenance)
+                .flatMap(saved -> invalidateAfterCompletion(maintenance.droneId()).thenReturn(saved));
+    }
+
+    @Override
+    public Mono<MaintenanceEntity> update(MaintenanceEntity maintenance) {
+        return delegate.update(maintenance)
+                .flatMap(updated -> invalidateAfterCompletion(maintenance.droneId()).thenReturn(updated));
+    }
+
+    @Override
+    public Mono<Boolean> existsActiveMaintenanceForDrone(String droneId) {
+        Boolean cached = activeByDrone.getIfPresent(droneId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        long loadGeneration = generation.get();
+
+        return delegate.existsActiveMaintenanceForDrone(droneId)
+                .doOnNext(active -> {
+                    if (generation.get() == loadGeneration) {
+                        activeByDrone.put(droneId, active);
+                    }
+                });
+    }
+
+    /**
+     * Responde desde la caché los drones conocidos y consulta el resto en una sola sentencia
+     */
+    @Override
+    public Flux<String> findDroneIdsWithActiveMaintenance(Collection<String> droneIds) {
+        Map<String, Boolean> cached = activeByDrone.getAllPresent(droneIds);
+        List<String> active = new ArrayList<>();
+        Set<String> misses = new LinkedHashSet<>();
+
+        for (String droneId : droneIds) {
+            Boolean hit = cached.get(droneId);
+            if (hit == null) {
+                misses.add(droneId);
+            } else if (hit) {
+                active.add(droneId);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return Flux.fromIterable(active);
+        }
+
+        long loadGeneration = generation.get();
+
+        Flux<String> loaded = delegate.findDroneIdsWithActiveMaintenance(misses)
+                .collectList()
+                .doOnNext(found -> {
+                    if (generation.get() == loadGeneration) {
+                        Set<String> foundIds = new HashSet<>(found);
+                        misses.forEach(droneId -> activeByDrone.put(droneId, foundIds.contains(droneId)));
+                    }
+                })
+                .flatMapIterable(found -> found);
+
+        return Flux.fromIterable(active).concatWith(loaded);
+    }
+
+    @Override
+    public Flux<MaintenanceAuditRecord> findAuditTrail(LocalDateTime from, LocalDateTime to) {
+        return delegate.findAuditTrail(from, to);
+    }
+
+    /**
+     * Invalida la entrada del drone cuando la transacción en curso termina, confirmada o no. El incremento de
+     * generación descarta además las cargas que empezaron antes y aún no han publicado su resultado
+     */
+    private Mono<Void> invalidateAfterCompletion(String droneId) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        invalidate(droneId);
+                        return Mono.empty();
+                    }
+                }))
+                .switchIfEmpty(Mono.fromRunnable(() -> invalidate(droneId)))
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(() -> invalidate(droneId)))
+                .then();
+    }
+
+    private void invalidate(String droneId) {
+        generation.incrementAndGet();
+        activeByDrone.invalidate(droneId);
+    }
+
+}
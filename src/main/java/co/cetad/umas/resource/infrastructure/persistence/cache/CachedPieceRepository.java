@@ -0,0 +1,270 @@
+package co.cetad.umas.resource.infrastructure.persistence.cache;
+
+import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
+import co.cetad.umas.resource.domain.ports.out.PieceRepository;
+import co.cetad.umas.resource.infrastructure.persistence.notification.PostgresNotifications;
+import co.cetad.umas.resource.infrastructure.persistence.repository.PieceR2dbcRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorador de {@link PieceRepository} con un catálogo de piezas en memoria.
+ * Mantiene una caché acotada por ID y una instantánea de las piezas activas; cualquier escritura
+ * (crear, actualizar, eliminar) invalida ambas, de modo que las lecturas frecuentes
+ * (creación de mantenimientos, detalle de piezas) no llegan a Postgres.
+ * Ambas expiran tras umas.cache.pieces.ttl, que acota lo que otra instancia puede servir desactualizado;
+ * con umas.cache.pieces.cross-node-invalidation cada escritura se avisa además por NOTIFY y las demás
+ * instancias descartan su copia al confirmarse la transacción.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "umas.cache.pieces.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedPieceRepository implements PieceRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedPieceRepository.class);
+
+    private final PieceR2dbcRepository delegate;
+    private final PostgresNotifications notifications;
+    private final Cache<String, PieceEntity> byId;
+    private final long ttlNanos;
+    private final boolean crossNodeInvalidation;
+    private final String channel;
+    private final Counter activeHits;
+    private final Counter activeMisses;
+
+    /**
+     * Identifica a esta instancia en los mensajes de invalidación para ignorar los propios
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Se incrementa en cada invalidación; una carga iniciada antes de una escritura no se publica
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile ActiveSnapshot activeSnapshot;
+
+    private Disposable invalidationSubscription;
+
+    public CachedPieceRepository(
+            PieceR2dbcRepository delegate,
+            PostgresNotifications notifications,
+            MeterRegistry meterRegistry,
+            @Value("${umas.cache.pieces.ttl:5m}") Duration ttl,
+            @Value("${umas.cache.pieces.maximum-size:10000}") long maximumSize,
+            @Value("${umas.cache.pieces.cross-node-invalidation:false}") boolean crossNodeInvalidation,
+            @Value("${umas.cache.pieces.channel:umas_piece_cache}") String channel) {
+        this.delegate = delegate;
+        this.notifications = notifications;
+        this.ttlNanos = ttl.toNanos();
+        this.crossNodeInvalidation = crossNodeInvalidation;
+        this.channel = channel;
+        this.byId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "pieces");
+        this.activeHits = activeCounter(meterRegistry, "hit");
+        this.activeMisses = activeCounter(meterRegistry, "miss");
+    }
+
+    @PostConstruct
+    void subscribeToInvalidations() {
+        if (!crossNodeInvalidation) {
+            return;
+        }
+
+        invalidationSubscription = notifications.listen(channel)
+                .subscribe(this::onInvalidation,
+                        error -> logger.error("Escucha de invalidaciones de piezas terminada", error));
+    }
+
+    @PreDestroy
+    void unsubscribeFromInvalidations() {
+        if (invalidationSubscription != null) {
+            invalidationSubscription.dispose();
+        }
+    }
+
+    @Override
+    public Flux<PieceEntity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<PieceEntity> findPage(PageCursor after, int limit) {
+        return delegate.findPage(after, limit);
+    }
+
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        return delegate.getVersion();
+    }
+
+    @Override
+    public Flux<PieceEntity> findAllActive() {
+        ActiveSnapshot snapshot = activeSnapshot;
+        if (snapshot != null && System.nanoTime() - snapshot.loadedAtNanos() < ttlNanos) {
+            activeHits.increment();
+            return Flux.fromIterable(snapshot.pieces());
+        }
+
+        activeMisses.increment();
+        long loadGeneration = generation.get();
+
+        return delegate.findAllActive()
+                .collectList()
+                .doOnNext(pieces -> {
+                    if (generation.get() == loadGeneration) {
+                        activeSnapshot = new ActiveSnapshot(List.copyOf(pieces), System.nanoTime());
+                        pieces.forEach(piece -> byId.put(piece.id(), piece));
+                    }
+                })
+                .flatMapIterable(pieces -> pieces);
+    }
+
+    @Override
+    public Mono<PieceEntity> findById(String id) {
+        PieceEntity cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        long loadGeneration = generation.get();
+
+        return delegate.findById(id)
+                .doOnNext(piece -> {
+                    if (generation.get() == loadGeneration) {
+                        byId.put(id, piece);
+                    }
+                });
+    }
+
+    /**
+     * Responde desde la caché las piezas conocidas y consulta el resto en una sola sentencia
+     */
+    @Override
+    public Flux<PieceEntity> findAllByIds(Collection<String> ids) {
+        Map<String, PieceEntity> cached = byId.getAllPresent(ids);
+        List<String> misses = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+
+        if (misses.isEmpty()) {
+            return Flux.fromIterable(cached.values());
+        }
+
+        long loadGeneration = generation.get();
+
+        Flux<PieceEntity> loaded = delegate.findAllByIds(misses)
+                .doOnNext(piece -> {
+                    if (generation.get() == loadGeneration) {
+                        byId.put(piece.id(), piece);
+                    }
+                });
+
+        return Flux.fromIterable(cached.values()).concatWith(loaded);
+    }
+
+    @Override
+    public Mono<PieceEntity> save(PieceEntity piece) {
+        return delegate.save(piece)
+                .doFinally(signal -> invalidate(piece.id()))
+                .flatMap(saved -> notifyOtherNodes(saved.id()).thenReturn(saved));
+    }
+
+    /**
+     * Las piezas nuevas no están en la caché por ID; solo se descarta la instantánea de activas
+     */
+    @Override
+    public Flux<PieceEntity> saveBatch(List<PieceEntity> pieces) {
+        return delegate.saveBatch(pieces)
+                .doFinally(signal -> invalidateActiveSnapshot())
+                .concatWith(notifyOtherNodes("").then(Mono.<PieceEntity>empty()));
+    }
+
+    @Override
+    public Mono<PieceEntity> update(PieceEntity piece) {
+        return delegate.update(piece)
+                .doFinally(signal -> invalidate(piece.id()))
+                .flatMap(updated -> notifyOtherNodes(updated.id()).thenReturn(updated));
+    }
+
+    @Override
+    public Mono<Void> deleteById(String id) {
+        return delegate.deleteById(id)
+                .doFinally(signal -> invalidate(id))
+                .then(notifyOtherNodes(id));
+    }
+
+    @Override
+    public Mono<Boolean> existsByName(String name) {
+        return delegate.existsByName(name);
+    }
+
+    /**
+     * Avisa a las demás instancias; el mensaje sale con el commit de la transacción en curso.
+     * Un ID vacío solo descarta la instantánea de activas
+     */
+    private Mono<Void> notifyOtherNodes(String id) {
+        return crossNodeInvalidation ? notifications.notify(channel, nodeId + ":" + id) : Mono.empty();
+    }
+
+    private void onInvalidation(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0 || payload.startsWith(nodeId + ":")) {
+            return;
+        }
+
+        String id = payload.substring(separator + 1);
+        if (id.isEmpty()) {
+            invalidateActiveSnapshot();
+        } else {
+            invalidate(id);
+        }
+    }
+
+    private void invalidate(String id) {
+        invalidateActiveSnapshot();
+        byId.invalidate(id);
+    }
+
+    private void invalidateActiveSnapshot() {
+        generation.incrementAndGet();
+        activeSnapshot = null;
+    }
+
+    private Counter activeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("umas.cache.pieces.active")
+                .description("Lecturas de la instantánea de piezas activas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record ActiveSnapshot(List<PieceEntity> pieces, long loadedAtNanos) {}
+
+}
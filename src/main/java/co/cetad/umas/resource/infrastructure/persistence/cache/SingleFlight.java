@@ -0,0 +1,70 @@
+package co.cetad.umas.resource.infrastructure.persistence.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa lecturas concurrentes por clave: mientras una consulta para una clave está en curso,
+ * las peticiones que llegan para la misma clave se suscriben al mismo {@link Mono} en lugar de lanzar otra.
+ * No es una caché: al terminar la consulta la entrada se descarta y la siguiente petición consulta de nuevo.
+ * Publica umas.persistence.single-flight con result=executed|collapsed por nombre de lectura.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = counter(meterRegistry, name, "executed");
+        this.collapsed = counter(meterRegistry, name, "collapsed");
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                collapsed.increment();
+                return existing;
+            }
+
+            AtomicReference<Mono<V>> created = new AtomicReference<>();
+            Mono<V> shared = inFlight.computeIfAbsent(key, k -> {
+                created.set(loader.get()
+                        .doFinally(signal -> inFlight.remove(k, created.get()))
+                        .cache());
+                return created.get();
+            });
+
+            if (shared == created.get()) {
+                executed.increment();
+            } else {
+                collapsed.increment();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Suelta la consulta en curso para la clave: quien la espera ya recibe su resultado,
+     * pero las peticiones siguientes lanzan una nueva. Se usa cuando una escritura confirmada la deja obsoleta
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("umas.persistence.single-flight")
+                .description("Lecturas por clave ejecutadas frente a las agrupadas en una consulta en curso")
+                .tag("name", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -1,5 +1,10 @@
 package co.cetad.umas.resource.infrastructure.persistence.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.ValidationDepth;
 import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
 import io.r2dbc.postgresql.PostgresqlConnectionFactory;
 import io.r2dbc.spi.ConnectionFactory;
@@ -8,6 +13,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import java.time.Duration;
 
 @Configuration
 public class DatabaseConfig {
@@ -27,17 +36,74 @@ public class DatabaseConfig {
     @Value("${spring.r2dbc.password:drone_pass}")
     private String password;
 
+    @Value("${spring.r2dbc.pool.initial-size:10}")
+    private int initialSize;
+
+    @Value("${spring.r2dbc.pool.max-size:20}")
+    private int maxSize;
+
+    @Value("${spring.r2dbc.pool.max-idle-time:30m}")
+    private Duration maxIdleTime;
+
+    @Value("${spring.r2dbc.pool.max-acquire-time:5s}")
+    private Duration maxAcquireTime;
+
+    @Value("${spring.r2dbc.pool.max-create-connection-time:10s}")
+    private Duration maxCreateConnectionTime;
+
+    @Value("${spring.r2dbc.pool.max-life-time:1h}")
+    private Duration maxLifeTime;
+
+    @Value("${spring.r2dbc.pool.max-validation-time:2s}")
+    private Duration maxValidationTime;
+
+    @Value("${spring.r2dbc.pool.validation-query:SELECT 1}")
+    private String validationQuery;
+
+    @Value("${umas.persistence.metrics.slow-query-threshold:250ms}")
+    private Duration slowQueryThreshold;
+
+    @Value("${umas.persistence.metrics.slow-query-log-interval:10s}")
+    private Duration slowQueryLogInterval;
+
+    /**
+     * Configuración de conexión a Postgres, compartida por el pool y por la conexión dedicada de LISTEN
+     */
     @Bean
-    public ConnectionFactory connectionFactory() {
-        PostgresqlConnectionConfiguration config = PostgresqlConnectionConfiguration.builder()
+    public PostgresqlConnectionConfiguration postgresqlConnectionConfiguration() {
+        return PostgresqlConnectionConfiguration.builder()
                 .host(host)
                 .port(port)
                 .database(database)
                 .username(username)
                 .password(password)
                 .build();
+    }
 
-        return new PostgresqlConnectionFactory(config);
+    /**
+     * Pool de conexiones R2DBC sobre Postgres.
+     * Se expone envuelto en {@link MeteredConnectionFactory} para medir la latencia de adquisición;
+     * los gauges del pool (acquired, idle, pending, allocated) los publica actuator al desenvolverlo.
+     */
+    @Bean(destroyMethod = "close")
+    public MeteredConnectionFactory connectionFactory(
+            PostgresqlConnectionConfiguration config,
+            MeterRegistry meterRegistry) {
+        ConnectionPoolConfiguration poolConfig = ConnectionPoolConfiguration
+                .builder(new PostgresqlConnectionFactory(config))
+                .name("umas-resource-pool")
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .maxAcquireTime(maxAcquireTime)
+                .maxCreateConnectionTime(maxCreateConnectionTime)
+                .maxLifeTime(maxLifeTime)
+                .maxValidationTime(maxValidationTime)
+                .validationQuery(validationQuery)
+                .validationDepth(ValidationDepth.REMOTE)
+                .build();
+
+        return new MeteredConnectionFactory(new ConnectionPool(poolConfig), meterRegistry);
     }
 
     @Bean
@@ -48,9 +114,30 @@ public class DatabaseConfig {
                 .build();
     }
 
+    /**
+     * Cliente usado por los repositorios: mide latencia y filas por sentencia, abre un span por sentencia
+     * y muestrea las consultas lentas
+     */
+    @Bean
+    public MeteredDatabaseClient meteredDatabaseClient(
+            DatabaseClient databaseClient,
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry) {
+        return new MeteredDatabaseClient(databaseClient, meterRegistry, observationRegistry,
+                slowQueryThreshold, slowQueryLogInterval);
+    }
+
     @Bean
     public R2dbcTransactionManager transactionManager(ConnectionFactory connectionFactory) {
         return new R2dbcTransactionManager(connectionFactory);
     }
 
-}
\ No newline at end of file
+    /**
+     * Operador para demarcar transacciones en cadenas reactivas (todas las sentencias sobre una conexión)
+     */
+    @Bean
+    public TransactionalOperator transactionalOperator(ReactiveTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
+
+}
@@ -0,0 +1,67 @@
+package co.cetad.umas.resource.infrastructure.persistence.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envoltorio del pool de conexiones que registra la latencia de adquisición de cada conexión.
+ * Implementa {@link Wrapped} para que actuator pueda llegar al {@link ConnectionPool}
+ * y publicar sus gauges (r2dbc.pool.acquired, idle, pending, allocated).
+ */
+public class MeteredConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory> {
+
+    private final ConnectionPool pool;
+    private final Timer acquireSuccess;
+    private final Timer acquireFailure;
+
+    public MeteredConnectionFactory(ConnectionPool pool, MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.acquireSuccess = acquireTimer(meterRegistry, "success");
+        this.acquireFailure = acquireTimer(meterRegistry, "failure");
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return pool.create()
+                    .doOnSuccess(connection -> acquireSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> acquireFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return pool;
+    }
+
+    /**
+     * Libera todas las conexiones del pool al cerrar el contexto
+     */
+    public void close() {
+        pool.dispose();
+    }
+
+    private Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("r2dbc.pool.acquire")
+                .description("Tiempo de espera para obtener una conexión del pool")
+                .tag("name", "umas-resource-pool")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+}
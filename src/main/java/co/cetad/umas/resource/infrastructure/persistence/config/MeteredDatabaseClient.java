@@ -0,0 +1,268 @@
+package co.cetad.umas.resource.infrastructure.persistence.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Envoltorio de {@link DatabaseClient} usado por los repositorios R2DBC. Cada sentencia lleva un nombre
+ * (repositorio.método) y por nombre se publican:
+ * <ul>
+ *   <li>umas.persistence.query: observación desde la suscripción hasta el final, con outcome=success|error|cancelled.
+ *   Produce el timer y un span hijo de la observación que viaja en el contexto de Reactor (petición o paso del servicio)</li>
+ *   <li>umas.persistence.query.rows: filas devueltas o afectadas por ejecución</li>
+ *   <li>umas.persistence.query.slow: ejecuciones por encima del umbral configurado</li>
+ * </ul>
+ * Las consultas lentas se registran en el log como muestra: como mucho una línea por nombre e intervalo,
+ * con el número de ejecuciones lentas omitidas desde la anterior. Sustituye al log de QUERY/PARAM del driver.
+ */
+public class MeteredDatabaseClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MeteredDatabaseClient.class);
+
+    private static final String QUERY_OBSERVATION = "umas.persistence.query";
+
+    private final DatabaseClient delegate;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final long slowQueryThresholdNanos;
+    private final long slowQueryLogIntervalNanos;
+    private final ConcurrentMap<String, QueryMeters> meters = new ConcurrentHashMap<>();
+
+    public MeteredDatabaseClient(
+            DatabaseClient delegate,
+            MeterRegistry meterRegistry,
+            ObservationRegistry observationRegistry,
+            Duration slowQueryThreshold,
+            Duration slowQueryLogInterval) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+        this.slowQueryLogIntervalNanos = slowQueryLogInterval.toNanos();
+    }
+
+    /**
+     * Prepara una sentencia medida bajo el nombre indicado (p. ej. "drone.findById")
+     */
+    public Query sql(String name, String sql) {
+        return new Query(meters.computeIfAbsent(name, this::createMeters), sql, delegate.sql(sql));
+    }
+
+    public DatabaseClient unwrap() {
+        return delegate;
+    }
+
+    public final class Query {
+
+        private final QueryMeters queryMeters;
+        private final String sql;
+        private DatabaseClient.GenericExecuteSpec spec;
+
+        private Query(QueryMeters queryMeters, String sql, DatabaseClient.GenericExecuteSpec spec) {
+            this.queryMeters = queryMeters;
+            this.sql = sql;
+            this.spec = spec;
+        }
+
+        public Query bind(String name, Object value) {
+            spec = spec.bind(name, value);
+            return this;
+        }
+
+        public Query bindNull(String name, Class<?> type) {
+            spec = spec.bindNull(name, type);
+            return this;
+        }
+
+        public Query filter(Function<? super Statement, ? extends Statement> filter) {
+            spec = spec.filter(filter);
+            return this;
+        }
+
+        public <R> Fetch<R> map(Function<? super Readable, R> mapper) {
+            return new Fetch<>(this, spec.map(mapper));
+        }
+
+        public <R> Fetch<R> map(BiFunction<Row, RowMetadata, R> mapper) {
+            return new Fetch<>(this, spec.map(mapper));
+        }
+
+        /**
+         * Ejecuta la sentencia y devuelve el número de filas afectadas
+         */
+        public Mono<Long> rowsUpdated() {
+            return Mono.deferContextual(context -> {
+                Execution execution = new Execution(this, context);
+                return spec.fetch().rowsUpdated()
+                        .doOnNext(execution::addRows)
+                        .doOnError(execution::error)
+                        .doFinally(execution::finish);
+            });
+        }
+
+    }
+
+    public final class Fetch<R> {
+
+        private final Query query;
+        private final RowsFetchSpec<R> fetchSpec;
+
+        private Fetch(Query query, RowsFetchSpec<R> fetchSpec) {
+            this.query = query;
+            this.fetchSpec = fetchSpec;
+        }
+
+        public Mono<R> one() {
+            return Mono.deferContextual(context -> {
+                Execution execution = new Execution(query, context);
+                return fetchSpec.one()
+                        .doOnNext(row -> execution.addRows(1))
+                        .doOnError(execution::error)
+                        .doFinally(execution::finish);
+            });
+        }
+
+        public Mono<R> first() {
+            return Mono.deferContextual(context -> {
+                Execution execution = new Execution(query, context);
+                return fetchSpec.first()
+                        .doOnNext(row -> execution.addRows(1))
+                        .doOnError(execution::error)
+                        .doFinally(execution::finish);
+            });
+        }
+
+        public Flux<R> all() {
+            return Flux.deferContextual(context -> {
+                Execution execution = new Execution(query, context);
+                return fetchSpec.all()
+                        .doOnNext(row -> execution.addRows(1))
+                        .doOnError(execution::error)
+                        .doFinally(execution::finish);
+            });
+        }
+
+    }
+
+    /**
+     * Estado de una ejecución: observación en curso y filas vistas. Las señales de un publisher llegan
+     * en serie, así que no necesita sincronización
+     */
+    private final class Execution {
+
+        private final Query query;
+        private final Observation observation;
+        private final long start = System.nanoTime();
+        private long rows;
+
+        private Execution(Query query, ContextView context) {
+            this.query = query;
+            this.observation = Observation.createNotStarted(QUERY_OBSERVATION, observationRegistry)
+                    .parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                    .contextualName(query.queryMeters.name)
+                    .lowCardinalityKeyValue("query", query.queryMeters.name)
+                    .highCardinalityKeyValue("db.statement", query.sql)
+                    .start();
+        }
+
+        private void addRows(long count) {
+            rows += count;
+        }
+
+        private void error(Throwable error) {
+            observation.error(error);
+        }
+
+        private void finish(SignalType signal) {
+            long elapsed = System.nanoTime() - start;
+            QueryMeters queryMeters = query.queryMeters;
+
+            observation.lowCardinalityKeyValue("outcome", switch (signal) {
+                        case ON_COMPLETE -> "success";
+                        case ON_ERROR -> "error";
+                        default -> "cancelled";
+                    })
+                    .highCardinalityKeyValue("db.rows", Long.toString(rows))
+                    .stop();
+            queryMeters.rows.record(rows);
+
+            if (elapsed >= slowQueryThresholdNanos) {
+                queryMeters.slow.increment();
+                logSlowQuery(queryMeters, query.sql, elapsed, rows, signal);
+            }
+        }
+
+    }
+
+    private void logSlowQuery(QueryMeters queryMeters, String sql, long elapsedNanos, long rows, SignalType signal) {
+        long now = System.nanoTime();
+        long last = queryMeters.lastSlowLog.get();
+        if (last != 0 && now - last < slowQueryLogIntervalNanos) {
+            queryMeters.suppressedSlowLogs.incrementAndGet();
+            return;
+        }
+        if (!queryMeters.lastSlowLog.compareAndSet(last, now)) {
+            queryMeters.suppressedSlowLogs.incrementAndGet();
+            return;
+        }
+
+        log.warn("Slow query {}: {} ms, {} rows, signal {} ({} more slow executions since last report) - {}",
+                queryMeters.name,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rows,
+                signal,
+                queryMeters.suppressedSlowLogs.getAndSet(0),
+                sql.replaceAll("\\s+", " ").trim());
+    }
+
+    private QueryMeters createMeters(String name) {
+        return new QueryMeters(
+                name,
+                DistributionSummary.builder("umas.persistence.query.rows")
+                        .description("Filas devueltas o afectadas por ejecución de la sentencia")
+                        .tag("query", name)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry),
+                meterRegistry.counter("umas.persistence.query.slow", "query", name)
+        );
+    }
+
+    private record QueryMeters(
+            String name,
+            DistributionSummary rows,
+            Counter slow,
+            AtomicLong lastSlowLog,
+            AtomicLong suppressedSlowLogs
+    ) {
+
+        private QueryMeters(String name, DistributionSummary rows, Counter slow) {
+            this(name, rows, slow, new AtomicLong(), new AtomicLong());
+        }
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package co.cetad.umas.resource.infrastructure.persistence.notification;
+
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Acceso a LISTEN/NOTIFY de Postgres.
+ * notify usa pg_notify sobre el DatabaseClient, por lo que participa de la transacción en curso
+ * y el mensaje solo sale al hacer commit. listen abre una conexión dedicada fuera del pool por canal,
+ * mientras haya al menos un suscriptor, y la reparte a todos ellos con un único flujo multicast.
+ */
+@Component
+public class PostgresNotifications {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresNotifications.class);
+
+    private final DatabaseClient databaseClient;
+    private final PostgresqlConnectionFactory listenerConnectionFactory;
+    private final ConcurrentMap<String, Flux<String>> channels = new ConcurrentHashMap<>();
+
+    public PostgresNotifications(
+            DatabaseClient databaseClient,
+            PostgresqlConnectionConfiguration connectionConfiguration) {
+        this.databaseClient = databaseClient;
+        this.listenerConnectionFactory = new PostgresqlConnectionFactory(connectionConfiguration);
+    }
+
+    /**
+     * Envía un mensaje al canal indicado
+     */
+    public Mono<Void> notify(String channel, String payload) {
+        return databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                .bind("channel", channel)
+                .bind("payload", payload)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Envía varios mensajes al canal indicado en una sola sentencia
+     */
+    public Mono<Void> notifyAll(String channel, Collection<String> payloads) {
+        if (payloads.isEmpty()) {
+            return Mono.empty();
+        }
+
+        return databaseClient.sql("SELECT pg_notify(:channel, payload) FROM unnest(:payloads::text[]) AS payload")
+                .bind("channel", channel)
+                .bind("payloads", payloads.toArray(String[]::new))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Flujo compartido con los mensajes recibidos en el canal indicado
+     */
+    public Flux<String> listen(String channel) {
+        return channels.computeIfAbsent(channel, name -> listenOnDedicatedConnection(name)
+                .publish()
+                .refCount(1, Duration.ofSeconds(5)));
+    }
+
+    /**
+     * Abre la conexión de escucha, ejecuta LISTEN y emite las notificaciones recibidas.
+     * Si la conexión se pierde se reintenta con backoff exponencial
+     */
+    private Flux<String> listenOnDedicatedConnection(String channel) {
+        return Flux.usingWhen(
+                        listenerConnectionFactory.create(),
+                        connection -> connection.createStatement("LISTEN " + channel)
+                                .execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .doOnComplete(() -> logger.info("Escuchando notificaciones en canal {}", channel))
+                                .thenMany(connection.getNotifications()),
+                        PostgresqlConnection::close)
+                .mapNotNull(Notification::getParameter)
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> logger.warn("Reconectando escucha del canal {}: {}",
+                                channel, signal.failure().getMessage())));
+    }
+
+}
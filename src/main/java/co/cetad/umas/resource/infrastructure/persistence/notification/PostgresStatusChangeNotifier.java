@@ -0,0 +1,81 @@
+package co.cetad.umas.resource.infrastructure.persistence.notification;
+
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
+import co.cetad.umas.resource.domain.ports.out.StatusChangeNotifier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Canal de cambios de estado sobre LISTEN/NOTIFY de Postgres.
+ * Los eventos publicados dentro de una transacción solo salen al hacer commit;
+ * una única escucha sobre la base de datos se reparte a todos los suscriptores.
+ */
+@Component
+public class PostgresStatusChangeNotifier implements StatusChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresStatusChangeNotifier.class);
+
+    /**
+     * Eventos retenidos por suscriptor lento antes de descartar los más antiguos
+     */
+    private static final int SUBSCRIBER_BUFFER = 256;
+
+    private final PostgresNotifications notifications;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    public PostgresStatusChangeNotifier(
+            PostgresNotifications notifications,
+            ObjectMapper objectMapper,
+            @Value("${umas.notifications.channel:umas_status_changes}") String channel) {
+        this.notifications = notifications;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public Mono<Void> publish(StatusChangeEvent event) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(event))
+                .flatMap(payload -> notifications.notify(channel, payload));
+    }
+
+    @Override
+    public Mono<Void> publishAll(Collection<StatusChangeEvent> events) {
+        return Mono.fromCallable(() -> {
+                    List<String> payloads = new ArrayList<>(events.size());
+                    for (StatusChangeEvent event : events) {
+                        payloads.add(objectMapper.writeValueAsString(event));
+                    }
+                    return payloads;
+                })
+                .flatMap(payloads -> notifications.notifyAll(channel, payloads));
+    }
+
+    @Override
+    public Flux<StatusChangeEvent> changes() {
+        return notifications.listen(channel)
+                .mapNotNull(this::toEvent)
+                .onBackpressureBuffer(SUBSCRIBER_BUFFER, BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    private StatusChangeEvent toEvent(String payload) {
+        try {
+            return objectMapper.readValue(payload, StatusChangeEvent.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Notificación descartada en canal {}: {}", channel, payload);
+            return null;
+        }
+    }
+
+}
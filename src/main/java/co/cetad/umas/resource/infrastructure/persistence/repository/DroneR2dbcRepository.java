@@ -1,9 +1,13 @@
 package co.cetad.umas.resource.infrastructure.persistence.repository;
 
 import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
 import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import co.cetad.umas.resource.domain.ports.out.DroneRepository;
-import org.springframework.r2dbc.core.DatabaseClient;
+import co.cetad.umas.resource.infrastructure.persistence.cache.SingleFlight;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.Readable;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -11,6 +15,8 @@ import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,10 +24,18 @@ import java.util.UUID;
 @Repository
 public class DroneR2dbcRepository implements DroneRepository {
 
-    private final DatabaseClient databaseClient;
+    /**
+     * Tamaño de bloque del cursor en las consultas que pueden devolver tablas completas;
+     * las filas se leen del servidor a medida que el consumidor las solicita
+     */
+    private static final int STREAM_FETCH_SIZE = 256;
 
-    public DroneR2dbcRepository(DatabaseClient databaseClient) {
+    private final MeteredDatabaseClient databaseClient;
+    private final SingleFlight<String, Optional<DroneEntity>> findByIdFlight;
+
+    public DroneR2dbcRepository(MeteredDatabaseClient databaseClient, MeterRegistry meterRegistry) {
         this.databaseClient = databaseClient;
+        this.findByIdFlight = new SingleFlight<>("drone.findById", meterRegistry);
     }
 
     @Override
@@ -32,7 +46,40 @@ public class DroneR2dbcRepository implements DroneRepository {
         ORDER BY created_at DESC
         """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("drone.findAll", sql)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map((row, metadata) -> mapRowToDroneEntity(row))
+                .all();
+    }
+
+    @Override
+    public Flux<DroneEntity> findPage(PageCursor after, int limit) {
+        if (after == null) {
+            String sql = """
+        SELECT id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
+        FROM drone
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """;
+
+            return databaseClient.sql("drone.findPage", sql)
+                    .bind("limit", limit)
+                    .map((row, metadata) -> mapRowToDroneEntity(row))
+                    .all();
+        }
+
+        String sql = """
+        SELECT id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
+        FROM drone
+        WHERE (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """;
+
+        return databaseClient.sql("drone.findPage", sql)
+                .bind("createdAt", after.createdAt())
+                .bind("id", UUID.fromString(after.id()))
+                .bind("limit", limit)
                 .map((row, metadata) -> mapRowToDroneEntity(row))
                 .all();
     }
@@ -46,7 +93,7 @@ public class DroneR2dbcRepository implements DroneRepository {
         ORDER BY created_at DESC
         """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("drone.findByStatus", sql)
                 .bind("status", status.name())
                 .map((row, metadata) -> mapRowToDroneEntity(row))
                 .all();
@@ -54,13 +101,26 @@ public class DroneR2dbcRepository implements DroneRepository {
 
     @Override
     public Mono<Optional<DroneEntity>> findById(String id) {
+        // Peticiones concurrentes por el mismo drone comparten una sola consulta
+        return findByIdFlight.execute(id, () -> selectById(id));
+    }
+
+    /**
+     * Suelta la lectura por ID en curso para el drone, de modo que nadie más se una a una consulta
+     * iniciada antes de una escritura ya confirmada
+     */
+    public void forgetInFlight(String id) {
+        findByIdFlight.forget(id);
+    }
+
+    private Mono<Optional<DroneEntity>> selectById(String id) {
         String sql = """
         SELECT id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
         FROM drone
         WHERE id = :id
         """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("drone.findById", sql)
                 .bind("id", UUID.fromString(id))
                 .map((row, metadata) -> mapRowToDroneEntity(row))
                 .one()
@@ -68,6 +128,28 @@ public class DroneR2dbcRepository implements DroneRepository {
                 .defaultIfEmpty(Optional.empty());
     }
 
+    @Override
+    public Flux<DroneEntity> findAllByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+        SELECT id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
+        FROM drone
+        WHERE id = ANY(:ids::uuid[])
+        """;
+
+        UUID[] uuids = ids.stream()
+                .map(UUID::fromString)
+                .toArray(UUID[]::new);
+
+        return databaseClient.sql("drone.findAllByIds", sql)
+                .bind("ids", uuids)
+                .map((row, metadata) -> mapRowToDroneEntity(row))
+                .all();
+    }
+
     @Override
     public Mono<DroneEntity> save(DroneEntity drone) {
         String sql = """
@@ -76,7 +158,7 @@ public class DroneR2dbcRepository implements DroneRepository {
         RETURNING id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
         """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("drone.save", sql)
                 .bind("id", UUID.fromString(drone.id()))
                 .bind("name", drone.name())
                 .bind("vehicleId", drone.vehicleId())
@@ -91,6 +173,62 @@ public class DroneR2dbcRepository implements DroneRepository {
                 .one();
     }
 
+    /**
+     * Un único INSERT ... SELECT unnest para todo el bloque; flight_hours viaja como texto
+     * y se convierte en la sentencia para conservar la precisión de NUMERIC
+     */
+    @Override
+    public Flux<DroneEntity> saveBatch(List<DroneEntity> drones) {
+        if (drones.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+        INSERT INTO drone (id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at)
+        SELECT id, name, vehicle_id, model, description, serial_number, status::drone_status, flight_hours::numeric, :now, :now
+        FROM unnest(:ids::uuid[], :names::text[], :vehicleIds::text[], :models::text[], :descriptions::text[],
+                    :serialNumbers::text[], :statuses::text[], :flightHours::text[])
+            AS batch(id, name, vehicle_id, model, description, serial_number, status, flight_hours)
+        ON CONFLICT DO NOTHING
+        RETURNING id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
+        """;
+
+        int size = drones.size();
+        UUID[] ids = new UUID[size];
+        String[] names = new String[size];
+        String[] vehicleIds = new String[size];
+        String[] models = new String[size];
+        String[] descriptions = new String[size];
+        String[] serialNumbers = new String[size];
+        String[] statuses = new String[size];
+        String[] flightHours = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            DroneEntity drone = drones.get(i);
+            ids[i] = UUID.fromString(drone.id());
+            names[i] = drone.name();
+            vehicleIds[i] = drone.vehicleId();
+            models[i] = drone.model();
+            descriptions[i] = drone.description();
+            serialNumbers[i] = drone.serialNumber();
+            statuses[i] = drone.status().name();
+            flightHours[i] = drone.flightHours() != null ? drone.flightHours().toPlainString() : null;
+        }
+
+        return databaseClient.sql("drone.saveBatch", sql)
+                .bind("ids", ids)
+                .bind("names", names)
+                .bind("vehicleIds", vehicleIds)
+                .bind("models", models)
+                .bind("descriptions", descriptions)
+                .bind("serialNumbers", serialNumbers)
+                .bind("statuses", statuses)
+                .bind("flightHours", flightHours)
+                .bind("now", LocalDateTime.now())
+                .map((row, metadata) -> mapRowToDroneEntity(row))
+                .all();
+    }
+
     @Override
     public Mono<DroneEntity> update(DroneEntity drone) {
         String sql = """
@@ -107,7 +245,7 @@ public class DroneR2dbcRepository implements DroneRepository {
         RETURNING id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
         """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("drone.update", sql)
                 .bind("id", UUID.fromString(drone.id()))
                 .bind("name", drone.name())
                 .bind("vehicleId", drone.vehicleId())
@@ -122,21 +260,56 @@ public class DroneR2dbcRepository implements DroneRepository {
     }
 
     @Override
-    public Mono<Void> updateStatus(String id, DroneStatus status) {
+    public Mono<DroneEntity> updateStatus(String id, DroneStatus status) {
         String sql = """
         UPDATE drone
         SET status = :status::drone_status,
             updated_at = :updatedAt
         WHERE id = :id
+        RETURNING id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
         """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("drone.updateStatus", sql)
                 .bind("id", UUID.fromString(id))
                 .bind("status", status.name())
                 .bind("updatedAt", LocalDateTime.now())
-                .fetch()
-                .rowsUpdated()
-                .then();
+                .map((row, metadata) -> mapRowToDroneEntity(row))
+                .one();
+    }
+
+    @Override
+    public Flux<DroneEntity> updateStatusBulk(Collection<String> ids, DroneStatus status) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+        UPDATE drone
+        SET status = :status::drone_status,
+            updated_at = :updatedAt
+        WHERE id = ANY(:ids::uuid[])
+        RETURNING id, name, vehicle_id, model, description, serial_number, status, flight_hours, created_at, updated_at
+        """;
+
+        UUID[] uuids = ids.stream()
+                .map(UUID::fromString)
+                .toArray(UUID[]::new);
+
+        return databaseClient.sql("drone.updateStatusBulk", sql)
+                .bind("ids", uuids)
+                .bind("status", status.name())
+                .bind("updatedAt", LocalDateTime.now())
+                .map((row, metadata) -> mapRowToDroneEntity(row))
+                .all();
+    }
+
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        String sql = "SELECT version FROM collection_version WHERE table_name = 'drone'";
+
+        return databaseClient.sql("drone.getVersion", sql)
+                .map((row, metadata) -> new CollectionVersion(Objects.requireNonNull(row.get("version", Long.class))))
+                .one();
     }
 
     private DroneEntity mapRowToDroneEntity(Readable row) {
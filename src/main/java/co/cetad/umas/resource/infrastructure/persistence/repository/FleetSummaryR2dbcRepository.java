@@ -0,0 +1,98 @@
+package co.cetad.umas.resource.infrastructure.persistence.repository;
+
+import co.cetad.umas.resource.domain.model.entity.FleetSummary;
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.ports.out.FleetSummaryRepository;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import io.r2dbc.spi.Readable;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+public class FleetSummaryR2dbcRepository implements FleetSummaryRepository {
+
+    private final MeteredDatabaseClient databaseClient;
+
+    public FleetSummaryR2dbcRepository(MeteredDatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Una sola sentencia con los tres GROUP BY unidos; devuelve como mucho una fila por estado
+     */
+    @Override
+    public Mono<FleetSummary> getSummary() {
+        String sql = """
+            SELECT 'DRONE' AS kind, status::text AS status, COUNT(*) AS total, SUM(flight_hours) AS flight_hours
+            FROM drone
+            GROUP BY status
+            UNION ALL
+            SELECT 'MAINTENANCE', current_status::text, COUNT(*), NULL
+            FROM maintenance
+            WHERE current_status <> 'COMPLETED'
+            GROUP BY current_status
+            UNION ALL
+            SELECT 'MAINTENANCE_PIECE', status::text, COUNT(*), NULL
+            FROM maintenance_piece
+            GROUP BY status
+            """;
+
+        return databaseClient.sql("fleetSummary.getSummary", sql)
+                .map(this::mapRowToCount)
+                .all()
+                .collectList()
+                .map(this::toSummary);
+    }
+
+    private FleetSummary toSummary(List<StatusCount> counts) {
+        Map<DroneStatus, Long> drones = zeroCounts(DroneStatus.class);
+        Map<MaintenanceStatus, Long> maintenances = zeroCounts(MaintenanceStatus.class);
+        Map<MaintenancePieceStatus, Long> pieces = zeroCounts(MaintenancePieceStatus.class);
+        BigDecimal flightHours = BigDecimal.ZERO;
+
+        for (StatusCount count : counts) {
+            switch (count.kind()) {
+                case "DRONE" -> {
+                    drones.put(DroneStatus.valueOf(count.status()), count.total());
+                    if (count.flightHours() != null) {
+                        flightHours = flightHours.add(count.flightHours());
+                    }
+                }
+                case "MAINTENANCE" -> maintenances.put(MaintenanceStatus.valueOf(count.status()), count.total());
+                default -> pieces.put(MaintenancePieceStatus.valueOf(count.status()), count.total());
+            }
+        }
+
+        return new FleetSummary(drones, flightHours, maintenances, pieces, LocalDateTime.now());
+    }
+
+    private StatusCount mapRowToCount(Readable row) {
+        return new StatusCount(
+                Objects.requireNonNull(row.get("kind", String.class)),
+                Objects.requireNonNull(row.get("status", String.class)),
+                Objects.requireNonNull(row.get("total", Long.class)),
+                row.get("flight_hours", BigDecimal.class)
+        );
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> zeroCounts(Class<E> type) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        return counts;
+    }
+
+    private record StatusCount(String kind, String status, long total, BigDecimal flightHours) {
+    }
+
+}
@@ -1,25 +1,39 @@
 package co.cetad.umas.resource.infrastructure.persistence.repository;
 
 import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceWithDetails;
+import co.cetad.umas.resource.domain.model.entity.PieceEntity;
 import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
 import co.cetad.umas.resource.domain.ports.out.MaintenancePieceRepository;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
 import io.r2dbc.spi.Readable;
-import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Repository
 public class MaintenancePieceR2dbcRepository implements MaintenancePieceRepository {
 
-    private final DatabaseClient databaseClient;
+    /**
+     * Tamaño de bloque del cursor en las consultas que pueden devolver tablas completas;
+     * las filas se leen del servidor a medida que el consumidor las solicita
+     */
+    private static final int STREAM_FETCH_SIZE = 256;
 
-    public MaintenancePieceR2dbcRepository(DatabaseClient databaseClient) {
+    private final MeteredDatabaseClient databaseClient;
+    private final int batchSize;
+
+    public MaintenancePieceR2dbcRepository(
+            MeteredDatabaseClient databaseClient,
+            @Value("${umas.persistence.batch-size:500}") int batchSize) {
         this.databaseClient = databaseClient;
+        this.batchSize = batchSize;
     }
 
     @Override
@@ -31,12 +45,31 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
             ORDER BY created_at ASC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenancePiece.findByMaintenanceId", sql)
                 .bind("maintenanceId", UUID.fromString(maintenanceId))
                 .map(this::mapRowToEntity)
                 .all();
     }
 
+    @Override
+    public Flux<MaintenancePieceWithDetails> findByMaintenanceIdWithDetails(String maintenanceId) {
+        String sql = """
+            SELECT mp.id, mp.maintenance_id, mp.piece_id, mp.status, mp.quantity, mp.notes, mp.created_at, mp.updated_at,
+                   p.name AS piece_name, p.description AS piece_description, p.active AS piece_active,
+                   p.created_at AS piece_created_at, p.updated_at AS piece_updated_at
+            FROM maintenance_piece mp
+            JOIN piece p ON p.id = mp.piece_id
+            WHERE mp.maintenance_id = :maintenanceId
+            ORDER BY mp.created_at ASC, mp.id ASC
+            """;
+
+        return databaseClient.sql("maintenancePiece.findByMaintenanceIdWithDetails", sql)
+                .bind("maintenanceId", UUID.fromString(maintenanceId))
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(this::mapRowToDetails)
+                .all();
+    }
+
     @Override
     public Mono<MaintenancePieceEntity> findById(String id) {
         String sql = """
@@ -45,7 +78,7 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
             WHERE id = :id
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenancePiece.findById", sql)
                 .bind("id", UUID.fromString(id))
                 .map(this::mapRowToEntity)
                 .one();
@@ -62,7 +95,7 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
 
         LocalDateTime now = LocalDateTime.now();
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenancePiece.save", sql)
                 .bind("id", UUID.fromString(maintenancePiece.id()))
                 .bind("maintenanceId", UUID.fromString(maintenancePiece.maintenanceId()))
                 .bind("pieceId", UUID.fromString(maintenancePiece.pieceId()))
@@ -75,9 +108,55 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
                 .one();
     }
 
+    /**
+     * Inserta las piezas en bloques de {@code batchSize} filas, un único INSERT ... SELECT unnest por bloque.
+     * Los bloques se ejecutan en orden, de modo que el resultado conserva el orden de entrada.
+     */
     @Override
     public Flux<MaintenancePieceEntity> saveAll(Flux<MaintenancePieceEntity> maintenancePieces) {
-        return maintenancePieces.flatMap(this::save);
+        return maintenancePieces
+                .buffer(batchSize)
+                .concatMap(this::insertBatch);
+    }
+
+    private Flux<MaintenancePieceEntity> insertBatch(List<MaintenancePieceEntity> batch) {
+        // IMPORTANTE: El enum en PostgreSQL se llama maintenance_part_status, no maintenance_piece_status
+        String sql = """
+            INSERT INTO maintenance_piece (id, maintenance_id, piece_id, status, quantity, notes, created_at, updated_at)
+            SELECT id, maintenance_id, piece_id, status::maintenance_part_status, quantity, notes, :now, :now
+            FROM unnest(:ids::uuid[], :maintenanceIds::uuid[], :pieceIds::uuid[], :statuses::text[], :quantities::int[], :notes::text[])
+                AS batch(id, maintenance_id, piece_id, status, quantity, notes)
+            RETURNING id, maintenance_id, piece_id, status, quantity, notes, created_at, updated_at
+            """;
+
+        int size = batch.size();
+        UUID[] ids = new UUID[size];
+        UUID[] maintenanceIds = new UUID[size];
+        UUID[] pieceIds = new UUID[size];
+        String[] statuses = new String[size];
+        Integer[] quantities = new Integer[size];
+        String[] notes = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            MaintenancePieceEntity maintenancePiece = batch.get(i);
+            ids[i] = UUID.fromString(maintenancePiece.id());
+            maintenanceIds[i] = UUID.fromString(maintenancePiece.maintenanceId());
+            pieceIds[i] = UUID.fromString(maintenancePiece.pieceId());
+            statuses[i] = maintenancePiece.status().name();
+            quantities[i] = maintenancePiece.quantity();
+            notes[i] = maintenancePiece.notes() != null ? maintenancePiece.notes() : "";
+        }
+
+        return databaseClient.sql("maintenancePiece.insertBatch", sql)
+                .bind("ids", ids)
+                .bind("maintenanceIds", maintenanceIds)
+                .bind("pieceIds", pieceIds)
+                .bind("statuses", statuses)
+                .bind("quantities", quantities)
+                .bind("notes", notes)
+                .bind("now", LocalDateTime.now())
+                .map(this::mapRowToEntity)
+                .all();
     }
 
     @Override
@@ -93,7 +172,7 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
             RETURNING id, maintenance_id, piece_id, status, quantity, notes, created_at, updated_at
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenancePiece.update", sql)
                 .bind("id", UUID.fromString(maintenancePiece.id()))
                 .bind("status", maintenancePiece.status().name())
                 .bind("quantity", maintenancePiece.quantity())
@@ -107,9 +186,8 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
     public Mono<Void> deleteByMaintenanceId(String maintenanceId) {
         String sql = "DELETE FROM maintenance_piece WHERE maintenance_id = :maintenanceId";
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenancePiece.deleteByMaintenanceId", sql)
                 .bind("maintenanceId", UUID.fromString(maintenanceId))
-                .fetch()
                 .rowsUpdated()
                 .then();
     }
@@ -127,4 +205,19 @@ public class MaintenancePieceR2dbcRepository implements MaintenancePieceReposito
         );
     }
 
+    private MaintenancePieceWithDetails mapRowToDetails(Readable row) {
+        MaintenancePieceEntity maintenancePiece = mapRowToEntity(row);
+
+        PieceEntity piece = new PieceEntity(
+                maintenancePiece.pieceId(),
+                row.get("piece_name", String.class),
+                row.get("piece_description", String.class),
+                row.get("piece_active", Boolean.class),
+                row.get("piece_created_at", LocalDateTime.class),
+                row.get("piece_updated_at", LocalDateTime.class)
+        );
+
+        return new MaintenancePieceWithDetails(maintenancePiece, piece);
+    }
+
 }
\ No newline at end of file
@@ -1,25 +1,43 @@
 package co.cetad.umas.resource.infrastructure.persistence.repository;
 
+import co.cetad.umas.resource.domain.model.entity.MaintenanceAuditRecord;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceAuditRecordType;
 import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import co.cetad.umas.resource.domain.ports.out.MaintenanceRepository;
+import co.cetad.umas.resource.infrastructure.persistence.cache.SingleFlight;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.Readable;
-import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.UUID;
 
 @Repository
 public class MaintenanceR2dbcRepository implements MaintenanceRepository {
 
-    private final DatabaseClient databaseClient;
+    /**
+     * Tamaño de bloque del cursor en las consultas que pueden devolver tablas completas;
+     * las filas se leen del servidor a medida que el consumidor las solicita
+     */
+    private static final int STREAM_FETCH_SIZE = 256;
 
-    public MaintenanceR2dbcRepository(DatabaseClient databaseClient) {
+    private final MeteredDatabaseClient databaseClient;
+    private final SingleFlight<String, MaintenanceEntity> findByIdFlight;
+
+    public MaintenanceR2dbcRepository(MeteredDatabaseClient databaseClient, MeterRegistry meterRegistry) {
         this.databaseClient = databaseClient;
+        this.findByIdFlight = new SingleFlight<>("maintenance.findById", meterRegistry);
     }
 
     @Override
@@ -30,25 +48,100 @@ public class MaintenanceR2dbcRepository implements MaintenanceRepository {
             ORDER BY created_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.findAll", sql)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
+    @Override
+    public Flux<MaintenanceEntity> findPage(PageCursor after, int limit) {
+        if (after == null) {
+            String sql = """
+            SELECT id, drone_id, current_status, description, created_at, updated_at
+            FROM maintenance
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+            return databaseClient.sql("maintenance.findPage", sql)
+                    .bind("limit", limit)
+                    .map(this::mapRowToEntity)
+                    .all();
+        }
+
+        String sql = """
+            SELECT id, drone_id, current_status, description, created_at, updated_at
+            FROM maintenance
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+        return databaseClient.sql("maintenance.findPage", sql)
+                .bind("createdAt", after.createdAt())
+                .bind("id", UUID.fromString(after.id()))
+                .bind("limit", limit)
                 .map(this::mapRowToEntity)
                 .all();
     }
 
     @Override
     public Mono<MaintenanceEntity> findById(String id) {
+        // Peticiones concurrentes por el mismo mantenimiento comparten una sola consulta. Dentro de una transacción
+        // no se agrupa: la consulta compartida correría con la conexión de esa transacción y otras peticiones
+        // leerían a través de ella
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .map(TransactionSynchronizationManager::isActualTransactionActive)
+                .onErrorResume(NoTransactionException.class, e -> Mono.just(false))
+                .flatMap(inTransaction -> inTransaction
+                        ? selectById(id)
+                        : findByIdFlight.execute(id, () -> selectById(id)));
+    }
+
+    /**
+     * Suelta la lectura por ID en curso para el mantenimiento, de modo que nadie más se una a una consulta
+     * iniciada antes de una escritura ya confirmada
+     */
+    public void forgetInFlight(String id) {
+        findByIdFlight.forget(id);
+    }
+
+    private Mono<MaintenanceEntity> selectById(String id) {
         String sql = """
             SELECT id, drone_id, current_status, description, created_at, updated_at
             FROM maintenance
             WHERE id = :id
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.findById", sql)
                 .bind("id", UUID.fromString(id))
                 .map(this::mapRowToEntity)
                 .one();
     }
 
+    @Override
+    public Flux<MaintenanceEntity> findAllByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            SELECT id, drone_id, current_status, description, created_at, updated_at
+            FROM maintenance
+            WHERE id = ANY(:ids::uuid[])
+            """;
+
+        UUID[] uuids = ids.stream()
+                .map(UUID::fromString)
+                .toArray(UUID[]::new);
+
+        return databaseClient.sql("maintenance.findAllByIds", sql)
+                .bind("ids", uuids)
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
     @Override
     public Flux<MaintenanceEntity> findByDroneId(String droneId) {
         String sql = """
@@ -58,7 +151,7 @@ public class MaintenanceR2dbcRepository implements MaintenanceRepository {
             ORDER BY created_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.findByDroneId", sql)
                 .bind("droneId", UUID.fromString(droneId))
                 .map(this::mapRowToEntity)
                 .all();
@@ -73,7 +166,7 @@ public class MaintenanceR2dbcRepository implements MaintenanceRepository {
             ORDER BY created_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.findByStatus", sql)
                 .bind("status", status.name())
                 .map(this::mapRowToEntity)
                 .all();
@@ -89,7 +182,7 @@ public class MaintenanceR2dbcRepository implements MaintenanceRepository {
 
         LocalDateTime now = LocalDateTime.now();
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.save", sql)
                 .bind("id", UUID.fromString(maintenance.id()))
                 .bind("droneId", UUID.fromString(maintenance.droneId()))
                 .bind("currentStatus", maintenance.currentStatus().name())
@@ -97,7 +190,8 @@ public class MaintenanceR2dbcRepository implements MaintenanceRepository {
                 .bind("createdAt", now)
                 .bind("updatedAt", now)
                 .map(this::mapRowToEntity)
-                .one();
+                .one()
+                .flatMap(saved -> forgetInFlightAfterCompletion(saved.id()).thenReturn(saved));
     }
 
     @Override
@@ -111,34 +205,148 @@ public class MaintenanceR2dbcRepository implements MaintenanceRepository {
             RETURNING id, drone_id, current_status, description, created_at, updated_at
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.update", sql)
                 .bind("id", UUID.fromString(maintenance.id()))
                 .bind("currentStatus", maintenance.currentStatus().name())
                 .bind("description", maintenance.description() != null ? maintenance.description() : "")
                 .bind("updatedAt", LocalDateTime.now())
                 .map(this::mapRowToEntity)
-                .one();
+                .one()
+                .flatMap(updated -> forgetInFlightAfterCompletion(updated.id()).thenReturn(updated));
     }
 
     @Override
     public Mono<Boolean> existsActiveMaintenanceForDrone(String droneId) {
+        // El predicado current_status <> 'COMPLETED' coincide con el índice parcial idx_maintenance_active_drone_id;
+        // EXISTS se detiene en la primera fila encontrada
         String sql = """
-            SELECT COUNT(*) as count 
-            FROM maintenance 
-            WHERE drone_id = :droneId 
-            AND current_status IN ('ACTIVE', 'IN_MAINTENANCE', 'REPAIRING', 'OUT_OF_SERVICE')
+            SELECT EXISTS (
+                SELECT 1
+                FROM maintenance
+                WHERE drone_id = :droneId
+                AND current_status <> 'COMPLETED'
+            ) AS active
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenance.existsActiveMaintenanceForDrone", sql)
                 .bind("droneId", UUID.fromString(droneId))
-                .map(row -> {
-                    Long count = row.get("count", Long.class);
-                    return count != null && count > 0;
-                })
+                .map(row -> Boolean.TRUE.equals(row.get("active", Boolean.class)))
                 .one()
                 .defaultIfEmpty(false);
     }
 
+    @Override
+    public Flux<String> findDroneIdsWithActiveMaintenance(Collection<String> droneIds) {
+        if (droneIds.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            SELECT DISTINCT drone_id
+            FROM maintenance
+            WHERE drone_id = ANY(:droneIds::uuid[])
+            AND current_status <> 'COMPLETED'
+            """;
+
+        UUID[] ids = droneIds.stream()
+                .map(UUID::fromString)
+                .toArray(UUID[]::new);
+
+        return databaseClient.sql("maintenance.findDroneIdsWithActiveMaintenance", sql)
+                .bind("droneIds", ids)
+                .map(row -> Objects.requireNonNull(row.get("drone_id", UUID.class)).toString())
+                .all();
+    }
+
+    /**
+     * Una fila MAINTENANCE por mantenimiento seguida de su historial y sus piezas (LATERAL ... UNION ALL).
+     * El recorrido sigue el índice (created_at, id) de maintenance, así que el orden por mantenimiento
+     * no requiere ordenar el rango completo
+     */
+    @Override
+    public Flux<MaintenanceAuditRecord> findAuditTrail(LocalDateTime from, LocalDateTime to) {
+        String sql = """
+            SELECT m.id AS maintenance_id, m.drone_id, m.current_status, m.created_at AS maintenance_created_at,
+                   e.record_type, e.record_id, e.status, e.occurred_at, e.changed_by,
+                   e.piece_id, e.piece_name, e.quantity, e.comment
+            FROM maintenance m
+            CROSS JOIN LATERAL (
+                SELECT 0 AS sort_order, 'MAINTENANCE' AS record_type, m.id AS record_id,
+                       m.current_status::text AS status, m.created_at AS occurred_at, NULL::uuid AS changed_by,
+                       NULL::uuid AS piece_id, NULL::text AS piece_name, NULL::int AS quantity, m.description AS comment
+                UNION ALL
+                SELECT 1, 'STATUS_CHANGE', h.id, h.status::text, h.changed_at, h.changed_by,
+                       NULL, NULL, NULL, h.comment
+                FROM maintenance_status_history h
+                WHERE h.maintenance_id = m.id
+                UNION ALL
+                SELECT 2, 'PIECE', mp.id, mp.status::text, mp.updated_at, NULL,
+                       mp.piece_id, p.name, mp.quantity, mp.notes
+                FROM maintenance_piece mp
+                JOIN piece p ON p.id = mp.piece_id
+                WHERE mp.maintenance_id = m.id
+            ) e
+            WHERE m.created_at >= :from AND m.created_at < :to
+            ORDER BY m.created_at, m.id, e.sort_order, e.occurred_at, e.record_id
+            """;
+
+        return databaseClient.sql("maintenance.findAuditTrail", sql)
+                .bind("from", from)
+                .bind("to", to)
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
+                .map(this::mapRowToAuditRecord)
+                .all();
+    }
+
+    private MaintenanceAuditRecord mapRowToAuditRecord(Readable row) {
+        UUID changedBy = row.get("changed_by", UUID.class);
+        UUID pieceId = row.get("piece_id", UUID.class);
+
+        return new MaintenanceAuditRecord(
+                Objects.requireNonNull(row.get("maintenance_id", UUID.class)).toString(),
+                Objects.requireNonNull(row.get("drone_id", UUID.class)).toString(),
+                MaintenanceStatus.valueOf(Objects.requireNonNull(row.get("current_status", String.class))),
+                row.get("maintenance_created_at", LocalDateTime.class),
+                MaintenanceAuditRecordType.valueOf(Objects.requireNonNull(row.get("record_type", String.class))),
+                Objects.requireNonNull(row.get("record_id", UUID.class)).toString(),
+                row.get("status", String.class),
+                row.get("occurred_at", LocalDateTime.class),
+                changedBy != null ? changedBy.toString() : null,
+                pieceId != null ? pieceId.toString() : null,
+                row.get("piece_name", String.class),
+                row.get("quantity", Integer.class),
+                row.get("comment", String.class)
+        );
+    }
+
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        String sql = "SELECT version FROM collection_version WHERE table_name = 'maintenance'";
+
+        return databaseClient.sql("maintenance.getVersion", sql)
+                .map((row, metadata) -> new CollectionVersion(Objects.requireNonNull(row.get("version", Long.class))))
+                .one();
+    }
+
+    /**
+     * Suelta la lectura por ID en curso cuando la transacción de la escritura termina (o enseguida si no hay
+     * transacción): una consulta iniciada antes del commit no se comparte con peticiones posteriores
+     */
+    private Mono<Void> forgetInFlightAfterCompletion(String id) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .filter(TransactionSynchronizationManager::isSynchronizationActive)
+                .doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public Mono<Void> afterCompletion(int status) {
+                        forgetInFlight(id);
+                        return Mono.empty();
+                    }
+                }))
+                .switchIfEmpty(Mono.fromRunnable(() -> forgetInFlight(id)))
+                .onErrorResume(NoTransactionException.class, e -> Mono.fromRunnable(() -> forgetInFlight(id)))
+                .then();
+    }
+
     private MaintenanceEntity mapRowToEntity(Readable row) {
         return new MaintenanceEntity(
                 Objects.requireNonNull(row.get("id", UUID.class)).toString(),
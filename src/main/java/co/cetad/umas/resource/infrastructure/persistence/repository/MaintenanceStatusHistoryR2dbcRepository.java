@@ -3,8 +3,8 @@ package co.cetad.umas.resource.infrastructure.persistence.repository;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceStatusHistoryEntity;
 import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
 import co.cetad.umas.resource.domain.ports.out.MaintenanceStatusHistoryRepository;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
 import io.r2dbc.spi.Readable;
-import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,9 +16,15 @@ import java.util.UUID;
 @Repository
 public class MaintenanceStatusHistoryR2dbcRepository implements MaintenanceStatusHistoryRepository {
 
-    private final DatabaseClient databaseClient;
+    /**
+     * Tamaño de bloque del cursor en las consultas que pueden devolver tablas completas;
+     * las filas se leen del servidor a medida que el consumidor las solicita
+     */
+    private static final int STREAM_FETCH_SIZE = 256;
 
-    public MaintenanceStatusHistoryR2dbcRepository(DatabaseClient databaseClient) {
+    private final MeteredDatabaseClient databaseClient;
+
+    public MaintenanceStatusHistoryR2dbcRepository(MeteredDatabaseClient databaseClient) {
         this.databaseClient = databaseClient;
     }
 
@@ -31,8 +37,9 @@ public class MaintenanceStatusHistoryR2dbcRepository implements MaintenanceStatu
             ORDER BY changed_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenanceStatusHistory.findByMaintenanceId", sql)
                 .bind("maintenanceId", UUID.fromString(maintenanceId))
+                .filter(statement -> statement.fetchSize(STREAM_FETCH_SIZE))
                 .map(this::mapRowToEntity)
                 .all();
     }
@@ -45,7 +52,7 @@ public class MaintenanceStatusHistoryR2dbcRepository implements MaintenanceStatu
             RETURNING id, maintenance_id, status, changed_at, changed_by, comment
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("maintenanceStatusHistory.save", sql)
                 .bind("id", UUID.fromString(history.id()))
                 .bind("maintenanceId", UUID.fromString(history.maintenanceId()))
                 .bind("status", history.status().name())
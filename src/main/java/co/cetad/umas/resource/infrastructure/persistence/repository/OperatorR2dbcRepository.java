@@ -1,24 +1,28 @@
 package co.cetad.umas.resource.infrastructure.persistence.repository;
 
 import co.cetad.umas.resource.domain.model.entity.OperatorEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
 import co.cetad.umas.resource.domain.model.vo.OperatorStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import co.cetad.umas.resource.domain.ports.out.OperatorRepository;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
 import io.r2dbc.spi.Readable;
-import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Repository
 public class OperatorR2dbcRepository implements OperatorRepository {
 
-    private final DatabaseClient databaseClient;
+    private final MeteredDatabaseClient databaseClient;
 
-    public OperatorR2dbcRepository(DatabaseClient databaseClient) {
+    public OperatorR2dbcRepository(MeteredDatabaseClient databaseClient) {
         this.databaseClient = databaseClient;
     }
 
@@ -31,7 +35,41 @@ public class OperatorR2dbcRepository implements OperatorRepository {
             ORDER BY created_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.findAll", sql)
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
+    @Override
+    public Flux<OperatorEntity> findPage(PageCursor after, int limit) {
+        if (after == null) {
+            String sql = """
+            SELECT id, username, full_name, email, phone_number, ugcs_user_id, 
+                   user_keycloak, status, is_available, created_at, updated_at
+            FROM operator
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+            return databaseClient.sql("operator.findPage", sql)
+                    .bind("limit", limit)
+                    .map(this::mapRowToEntity)
+                    .all();
+        }
+
+        String sql = """
+            SELECT id, username, full_name, email, phone_number, ugcs_user_id, 
+                   user_keycloak, status, is_available, created_at, updated_at
+            FROM operator
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+        return databaseClient.sql("operator.findPage", sql)
+                .bind("createdAt", after.createdAt())
+                .bind("id", UUID.fromString(after.id()))
+                .bind("limit", limit)
                 .map(this::mapRowToEntity)
                 .all();
     }
@@ -45,12 +83,35 @@ public class OperatorR2dbcRepository implements OperatorRepository {
             WHERE id = :id
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.findById", sql)
                 .bind("id", UUID.fromString(id))
                 .map(this::mapRowToEntity)
                 .one();
     }
 
+    @Override
+    public Flux<OperatorEntity> findAllByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            SELECT id, username, full_name, email, phone_number, ugcs_user_id,
+                   user_keycloak, status, is_available, created_at, updated_at
+            FROM operator
+            WHERE id = ANY(:ids::uuid[])
+            """;
+
+        UUID[] uuids = ids.stream()
+                .map(UUID::fromString)
+                .toArray(UUID[]::new);
+
+        return databaseClient.sql("operator.findAllByIds", sql)
+                .bind("ids", uuids)
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
     @Override
     public Mono<OperatorEntity> save(OperatorEntity operator) {
         String sql = """
@@ -64,7 +125,7 @@ public class OperatorR2dbcRepository implements OperatorRepository {
 
         LocalDateTime now = LocalDateTime.now();
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.save", sql)
                 .bind("id", UUID.fromString(operator.id()))
                 .bind("username", operator.username())
                 .bind("fullName", operator.fullName())
@@ -80,6 +141,64 @@ public class OperatorR2dbcRepository implements OperatorRepository {
                 .one();
     }
 
+    @Override
+    public Flux<OperatorEntity> saveBatch(List<OperatorEntity> operators) {
+        if (operators.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            INSERT INTO operator (id, username, full_name, email, phone_number, ugcs_user_id,
+                                  user_keycloak, status, is_available, created_at, updated_at)
+            SELECT id, username, full_name, email, phone_number, ugcs_user_id,
+                   user_keycloak, status::operator_status, is_available, :now, :now
+            FROM unnest(:ids::uuid[], :usernames::text[], :fullNames::text[], :emails::text[], :phoneNumbers::text[],
+                        :ugcsUserIds::text[], :userKeycloaks::text[], :statuses::text[], :availability::boolean[])
+                AS batch(id, username, full_name, email, phone_number, ugcs_user_id, user_keycloak, status, is_available)
+            ON CONFLICT DO NOTHING
+            RETURNING id, username, full_name, email, phone_number, ugcs_user_id,
+                      user_keycloak, status, is_available, created_at, updated_at
+            """;
+
+        int size = operators.size();
+        UUID[] ids = new UUID[size];
+        String[] usernames = new String[size];
+        String[] fullNames = new String[size];
+        String[] emails = new String[size];
+        String[] phoneNumbers = new String[size];
+        String[] ugcsUserIds = new String[size];
+        String[] userKeycloaks = new String[size];
+        String[] statuses = new String[size];
+        Boolean[] availability = new Boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            OperatorEntity operator = operators.get(i);
+            ids[i] = UUID.fromString(operator.id());
+            usernames[i] = operator.username();
+            fullNames[i] = operator.fullName();
+            emails[i] = operator.email();
+            phoneNumbers[i] = operator.phoneNumber() != null ? operator.phoneNumber() : "";
+            ugcsUserIds[i] = operator.ugcsUserId() != null ? operator.ugcsUserId() : "";
+            userKeycloaks[i] = operator.userKeycloak() != null ? operator.userKeycloak() : "";
+            statuses[i] = operator.status().name();
+            availability[i] = operator.isAvailable() != null ? operator.isAvailable() : true;
+        }
+
+        return databaseClient.sql("operator.saveBatch", sql)
+                .bind("ids", ids)
+                .bind("usernames", usernames)
+                .bind("fullNames", fullNames)
+                .bind("emails", emails)
+                .bind("phoneNumbers", phoneNumbers)
+                .bind("ugcsUserIds", ugcsUserIds)
+                .bind("userKeycloaks", userKeycloaks)
+                .bind("statuses", statuses)
+                .bind("availability", availability)
+                .bind("now", LocalDateTime.now())
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
     @Override
     public Mono<OperatorEntity> update(OperatorEntity operator) {
         String sql = """
@@ -98,7 +217,7 @@ public class OperatorR2dbcRepository implements OperatorRepository {
                       user_keycloak, status, is_available, created_at, updated_at
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.update", sql)
                 .bind("id", UUID.fromString(operator.id()))
                 .bind("username", operator.username())
                 .bind("fullName", operator.fullName())
@@ -117,9 +236,8 @@ public class OperatorR2dbcRepository implements OperatorRepository {
     public Mono<Void> deleteById(String id) {
         String sql = "DELETE FROM operator WHERE id = :id";
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.deleteById", sql)
                 .bind("id", UUID.fromString(id))
-                .fetch()
                 .rowsUpdated()
                 .then();
     }
@@ -128,7 +246,7 @@ public class OperatorR2dbcRepository implements OperatorRepository {
     public Mono<Boolean> existsByUsername(String username) {
         String sql = "SELECT COUNT(*) as count FROM operator WHERE username = :username";
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.existsByUsername", sql)
                 .bind("username", username)
                 .map(row -> {
                     Long count = row.get("count", Long.class);
@@ -142,7 +260,7 @@ public class OperatorR2dbcRepository implements OperatorRepository {
     public Mono<Boolean> existsByEmail(String email) {
         String sql = "SELECT COUNT(*) as count FROM operator WHERE email = :email";
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("operator.existsByEmail", sql)
                 .bind("email", email)
                 .map(row -> {
                     Long count = row.get("count", Long.class);
@@ -152,6 +270,35 @@ public class OperatorR2dbcRepository implements OperatorRepository {
                 .defaultIfEmpty(false);
     }
 
+    @Override
+    public Flux<OperatorEntity> findByUsernamesOrEmails(Collection<String> usernames, Collection<String> emails) {
+        if (usernames.isEmpty() && emails.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            SELECT id, username, full_name, email, phone_number, ugcs_user_id,
+                   user_keycloak, status, is_available, created_at, updated_at
+            FROM operator
+            WHERE username = ANY(:usernames::text[]) OR email = ANY(:emails::text[])
+            """;
+
+        return databaseClient.sql("operator.findByUsernamesOrEmails", sql)
+                .bind("usernames", usernames.toArray(String[]::new))
+                .bind("emails", emails.toArray(String[]::new))
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        String sql = "SELECT version FROM collection_version WHERE table_name = 'operator'";
+
+        return databaseClient.sql("operator.getVersion", sql)
+                .map((row, metadata) -> new CollectionVersion(Objects.requireNonNull(row.get("version", Long.class))))
+                .one();
+    }
+
     private OperatorEntity mapRowToEntity(Readable row) {
         String userKeycloak = row.get("user_keycloak", String.class);
 
@@ -0,0 +1,97 @@
+package co.cetad.umas.resource.infrastructure.persistence.repository;
+
+import co.cetad.umas.resource.domain.model.entity.PieceFailureStats;
+import co.cetad.umas.resource.domain.ports.out.PieceFailureStatsRepository;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import io.r2dbc.spi.Readable;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Consultas de analítica sobre piece_failure_stats. La tabla la mantiene un trigger de maintenance_piece
+ * (ver V4__piece_failure_stats.sql), así que aquí solo se leen contadores: una fila por pieza, modelo y mes.
+ * El modelo es el que tenía el drone al crearse el mantenimiento (maintenance.drone_model, V6)
+ */
+@Repository
+public class PieceFailureStatsR2dbcRepository implements PieceFailureStatsRepository {
+
+    private final MeteredDatabaseClient databaseClient;
+
+    public PieceFailureStatsR2dbcRepository(MeteredDatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<PieceFailureStats> findRanking(YearMonth from, YearMonth to, String droneModel, int limit) {
+        String sql = """
+            SELECT s.piece_id, p.name AS piece_name, s.drone_model, NULL::date AS period,
+                   SUM(s.inspected)::bigint AS inspected, SUM(s.damaged)::bigint AS damaged, SUM(s.replaced)::bigint AS replaced
+            FROM piece_failure_stats s
+            JOIN piece p ON p.id = s.piece_id
+            WHERE s.period BETWEEN :from AND :to
+            AND (:droneModel::text IS NULL OR s.drone_model = :droneModel::text)
+            GROUP BY s.piece_id, p.name, s.drone_model
+            HAVING SUM(s.inspected) > 0
+            ORDER BY (SUM(s.damaged) + SUM(s.replaced))::numeric / SUM(s.inspected) DESC,
+                     SUM(s.damaged) + SUM(s.replaced) DESC,
+                     s.piece_id
+            LIMIT :limit
+            """;
+
+        return bindModel(databaseClient.sql("pieceFailureStats.findRanking", sql), droneModel)
+                .bind("from", from.atDay(1))
+                .bind("to", to.atDay(1))
+                .bind("limit", limit)
+                .map(this::mapRowToStats)
+                .all();
+    }
+
+    @Override
+    public Flux<PieceFailureStats> findMonthlyByPiece(String pieceId, YearMonth from, YearMonth to, String droneModel) {
+        String sql = """
+            SELECT s.piece_id, p.name AS piece_name, :droneModel::text AS drone_model, s.period,
+                   SUM(s.inspected)::bigint AS inspected, SUM(s.damaged)::bigint AS damaged, SUM(s.replaced)::bigint AS replaced
+            FROM piece_failure_stats s
+            JOIN piece p ON p.id = s.piece_id
+            WHERE s.piece_id = :pieceId
+            AND s.period BETWEEN :from AND :to
+            AND (:droneModel::text IS NULL OR s.drone_model = :droneModel::text)
+            GROUP BY s.piece_id, p.name, s.period
+            ORDER BY s.period
+            """;
+
+        return bindModel(databaseClient.sql("pieceFailureStats.findMonthlyByPiece", sql), droneModel)
+                .bind("pieceId", UUID.fromString(pieceId))
+                .bind("from", from.atDay(1))
+                .bind("to", to.atDay(1))
+                .map(this::mapRowToStats)
+                .all();
+    }
+
+    private static MeteredDatabaseClient.Query bindModel(MeteredDatabaseClient.Query spec, String droneModel) {
+        return droneModel != null
+                ? spec.bind("droneModel", droneModel)
+                : spec.bindNull("droneModel", String.class);
+    }
+
+    private PieceFailureStats mapRowToStats(Readable row) {
+        String droneModel = row.get("drone_model", String.class);
+        LocalDate period = row.get("period", LocalDate.class);
+
+        return new PieceFailureStats(
+                Objects.requireNonNull(row.get("piece_id", UUID.class)).toString(),
+                row.get("piece_name", String.class),
+                droneModel == null || droneModel.isEmpty() ? null : droneModel,
+                period != null ? YearMonth.from(period) : null,
+                Objects.requireNonNull(row.get("inspected", Long.class)),
+                Objects.requireNonNull(row.get("damaged", Long.class)),
+                Objects.requireNonNull(row.get("replaced", Long.class))
+        );
+    }
+
+}
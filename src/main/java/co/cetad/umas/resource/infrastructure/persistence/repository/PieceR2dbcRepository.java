@@ -1,23 +1,27 @@
 package co.cetad.umas.resource.infrastructure.persistence.repository;
 
 import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
 import co.cetad.umas.resource.domain.ports.out.PieceRepository;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
 import io.r2dbc.spi.Readable;
-import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
 @Repository
 public class PieceR2dbcRepository implements PieceRepository {
 
-    private final DatabaseClient databaseClient;
+    private final MeteredDatabaseClient databaseClient;
 
-    public PieceR2dbcRepository(DatabaseClient databaseClient) {
+    public PieceR2dbcRepository(MeteredDatabaseClient databaseClient) {
         this.databaseClient = databaseClient;
     }
 
@@ -29,7 +33,39 @@ public class PieceR2dbcRepository implements PieceRepository {
             ORDER BY created_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.findAll", sql)
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
+    @Override
+    public Flux<PieceEntity> findPage(PageCursor after, int limit) {
+        if (after == null) {
+            String sql = """
+            SELECT id, name, description, active, created_at, updated_at
+            FROM piece
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+            return databaseClient.sql("piece.findPage", sql)
+                    .bind("limit", limit)
+                    .map(this::mapRowToEntity)
+                    .all();
+        }
+
+        String sql = """
+            SELECT id, name, description, active, created_at, updated_at
+            FROM piece
+            WHERE (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """;
+
+        return databaseClient.sql("piece.findPage", sql)
+                .bind("createdAt", after.createdAt())
+                .bind("id", UUID.fromString(after.id()))
+                .bind("limit", limit)
                 .map(this::mapRowToEntity)
                 .all();
     }
@@ -43,7 +79,7 @@ public class PieceR2dbcRepository implements PieceRepository {
             ORDER BY created_at DESC
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.findAllActive", sql)
                 .map(this::mapRowToEntity)
                 .all();
     }
@@ -56,12 +92,34 @@ public class PieceR2dbcRepository implements PieceRepository {
             WHERE id = :id
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.findById", sql)
                 .bind("id", UUID.fromString(id))
                 .map(this::mapRowToEntity)
                 .one();
     }
 
+    @Override
+    public Flux<PieceEntity> findAllByIds(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            SELECT id, name, description, active, created_at, updated_at
+            FROM piece
+            WHERE id = ANY(:ids::uuid[])
+            """;
+
+        UUID[] uuids = ids.stream()
+                .map(UUID::fromString)
+                .toArray(UUID[]::new);
+
+        return databaseClient.sql("piece.findAllByIds", sql)
+                .bind("ids", uuids)
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
     @Override
     public Mono<PieceEntity> save(PieceEntity piece) {
         String sql = """
@@ -72,7 +130,7 @@ public class PieceR2dbcRepository implements PieceRepository {
 
         LocalDateTime now = LocalDateTime.now();
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.save", sql)
                 .bind("id", UUID.fromString(piece.id()))
                 .bind("name", piece.name())
                 .bind("description", piece.description() != null ? piece.description() : "")
@@ -83,6 +141,45 @@ public class PieceR2dbcRepository implements PieceRepository {
                 .one();
     }
 
+    @Override
+    public Flux<PieceEntity> saveBatch(List<PieceEntity> pieces) {
+        if (pieces.isEmpty()) {
+            return Flux.empty();
+        }
+
+        String sql = """
+            INSERT INTO piece (id, name, description, active, created_at, updated_at)
+            SELECT id, name, description, active, :now, :now
+            FROM unnest(:ids::uuid[], :names::text[], :descriptions::text[], :actives::boolean[])
+                AS batch(id, name, description, active)
+            ON CONFLICT DO NOTHING
+            RETURNING id, name, description, active, created_at, updated_at
+            """;
+
+        int size = pieces.size();
+        UUID[] ids = new UUID[size];
+        String[] names = new String[size];
+        String[] descriptions = new String[size];
+        Boolean[] actives = new Boolean[size];
+
+        for (int i = 0; i < size; i++) {
+            PieceEntity piece = pieces.get(i);
+            ids[i] = UUID.fromString(piece.id());
+            names[i] = piece.name();
+            descriptions[i] = piece.description() != null ? piece.description() : "";
+            actives[i] = piece.active();
+        }
+
+        return databaseClient.sql("piece.saveBatch", sql)
+                .bind("ids", ids)
+                .bind("names", names)
+                .bind("descriptions", descriptions)
+                .bind("actives", actives)
+                .bind("now", LocalDateTime.now())
+                .map(this::mapRowToEntity)
+                .all();
+    }
+
     @Override
     public Mono<PieceEntity> update(PieceEntity piece) {
         String sql = """
@@ -95,7 +192,7 @@ public class PieceR2dbcRepository implements PieceRepository {
             RETURNING id, name, description, active, created_at, updated_at
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.update", sql)
                 .bind("id", UUID.fromString(piece.id()))
                 .bind("name", piece.name())
                 .bind("description", piece.description() != null ? piece.description() : "")
@@ -114,10 +211,9 @@ public class PieceR2dbcRepository implements PieceRepository {
             WHERE id = :id 
             """;
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.deleteById", sql)
                 .bind("id", UUID.fromString(id))
                 .bind("updatedAt", LocalDateTime.now())
-                .fetch()
                 .rowsUpdated()
                 .then();
     }
@@ -126,7 +222,7 @@ public class PieceR2dbcRepository implements PieceRepository {
     public Mono<Boolean> existsByName(String name) {
         String sql = "SELECT COUNT(*) as count FROM piece WHERE name = :name";
 
-        return databaseClient.sql(sql)
+        return databaseClient.sql("piece.existsByName", sql)
                 .bind("name", name)
                 .map(row -> {
                     Long count = row.get("count", Long.class);
@@ -136,6 +232,15 @@ public class PieceR2dbcRepository implements PieceRepository {
                 .defaultIfEmpty(false);
     }
 
+    @Override
+    public Mono<CollectionVersion> getVersion() {
+        String sql = "SELECT version FROM collection_version WHERE table_name = 'piece'";
+
+        return databaseClient.sql("piece.getVersion", sql)
+                .map((row, metadata) -> new CollectionVersion(Objects.requireNonNull(row.get("version", Long.class))))
+                .one();
+    }
+
     private PieceEntity mapRowToEntity(Readable row) {
         return new PieceEntity(
                 Objects.requireNonNull(row.get("id", UUID.class)).toString(),
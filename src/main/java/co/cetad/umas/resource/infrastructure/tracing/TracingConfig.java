@@ -0,0 +1,24 @@
+package co.cetad.umas.resource.infrastructure.tracing;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Exportadores de spans adicionales al OTLP que configura actuator (management.otlp.tracing.endpoint)
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Escribe cada span terminado en el log (nombre, duración, traceId y atributos), sin necesidad de colector
+     */
+    @Bean
+    @ConditionalOnProperty(name = "umas.tracing.log-exporter.enabled", havingValue = "true")
+    public SpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+}
@@ -0,0 +1,40 @@
+package co.cetad.umas.resource.infrastructure.web.catalog;
+
+import co.cetad.umas.resource.infrastructure.web.etag.ETags;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Catálogo de un enum ya serializado: el JSON se genera una sola vez y la respuesta (cuerpo, ETag y
+ * Cache-Control) se comparte entre peticiones. El cuerpo es un byte[] que ByteArrayEncoder envuelve en el
+ * buffer de salida sin copiarlo ni volver a serializarlo.
+ */
+public final class EnumCatalog {
+
+    /**
+     * Los catálogos solo cambian con un despliegue; al vencer, el cliente revalida con el ETag y recibe 304
+     */
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+
+    private final Mono<ResponseEntity<byte[]>> response;
+
+    EnumCatalog(byte[] json) {
+        this.response = Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(ETags.of(json))
+                .cacheControl(CACHE_CONTROL)
+                .body(json));
+    }
+
+    /**
+     * Respuesta precalculada; WebFlux responde 304 sin cuerpo si coincide con If-None-Match
+     */
+    public Mono<ResponseEntity<byte[]>> response() {
+        return response;
+    }
+
+}
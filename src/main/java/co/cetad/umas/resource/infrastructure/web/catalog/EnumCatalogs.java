@@ -0,0 +1,76 @@
+package co.cetad.umas.resource.infrastructure.web.catalog;
+
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceAuditRecordType;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.OperatorStatus;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeType;
+import co.cetad.umas.resource.domain.model.vo.UserRole;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Catálogos de los enums de domain/model vo, serializados al arrancar como [{code, description}].
+ * Cada enum nuevo del dominio que se exponga al cliente se registra aquí con su descripción.
+ */
+@Component
+public class EnumCatalogs {
+
+    public static final String DRONE_STATUSES = "drone-statuses";
+    public static final String MAINTENANCE_STATUSES = "maintenance-statuses";
+    public static final String MAINTENANCE_PIECE_STATUSES = "maintenance-piece-statuses";
+    public static final String OPERATOR_STATUSES = "operator-statuses";
+    public static final String STATUS_CHANGE_TYPES = "status-change-types";
+    public static final String MAINTENANCE_AUDIT_RECORD_TYPES = "maintenance-audit-record-types";
+    public static final String USER_ROLES = "user-roles";
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, EnumCatalog> catalogs = new LinkedHashMap<>();
+
+    public EnumCatalogs(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        register(DRONE_STATUSES, DroneStatus.class, DroneStatus::getStatus);
+        register(MAINTENANCE_STATUSES, MaintenanceStatus.class, MaintenanceStatus::getStatus);
+        register(MAINTENANCE_PIECE_STATUSES, MaintenancePieceStatus.class, MaintenancePieceStatus::getStatus);
+        register(OPERATOR_STATUSES, OperatorStatus.class, OperatorStatus::getStatus);
+        register(STATUS_CHANGE_TYPES, StatusChangeType.class, StatusChangeType::getType);
+        register(MAINTENANCE_AUDIT_RECORD_TYPES, MaintenanceAuditRecordType.class, MaintenanceAuditRecordType::getType);
+        register(USER_ROLES, UserRole.class, UserRole::getRole);
+    }
+
+    /**
+     * Catálogo registrado con el nombre indicado
+     */
+    public Optional<EnumCatalog> find(String name) {
+        return Optional.ofNullable(catalogs.get(name));
+    }
+
+    /**
+     * Catálogo que un controlador expone con nombre fijo; si no existe es un error de programación
+     */
+    public EnumCatalog get(String name) {
+        return find(name).orElseThrow(() -> new IllegalArgumentException("Unknown enum catalog: " + name));
+    }
+
+    private <E extends Enum<E>> void register(String name, Class<E> type, Function<E, String> description) {
+        var entries = Arrays.stream(type.getEnumConstants())
+                .map(value -> new CatalogEntry(value.name(), description.apply(value)))
+                .toList();
+        try {
+            catalogs.put(name, new EnumCatalog(objectMapper.writeValueAsBytes(entries)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize enum catalog " + name, e);
+        }
+    }
+
+    private record CatalogEntry(String code, String description) {}
+
+}
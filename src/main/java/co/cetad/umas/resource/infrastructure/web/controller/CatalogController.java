@@ -0,0 +1,32 @@
+package co.cetad.umas.resource.infrastructure.web.controller;
+
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalog;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalogs;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/catalogs")
+public class CatalogController {
+
+    private final EnumCatalogs enumCatalogs;
+
+    public CatalogController(EnumCatalogs enumCatalogs) {
+        this.enumCatalogs = enumCatalogs;
+    }
+
+    /**
+     * Obtiene un catálogo de enums del dominio (drone-statuses, operator-statuses, user-roles, ...)
+     * GET /api/v1/catalogs/{name}
+     * Respuesta precalculada con ETag y Cache-Control; 404 si el catálogo no existe
+     */
+    @GetMapping(value = "/{name}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getCatalog(@PathVariable String name) {
+        return enumCatalogs.find(name)
+                .map(EnumCatalog::response)
+                .orElseGet(() -> Mono.just(ResponseEntity.notFound().build()));
+    }
+
+}
@@ -1,52 +1,84 @@
 package co.cetad.umas.resource.infrastructure.web.controller;
 
 import co.cetad.umas.resource.application.service.drone.DroneService;
+import co.cetad.umas.resource.domain.model.dto.BatchGetRequestDTO;
+import co.cetad.umas.resource.domain.model.dto.BatchGetResponseDTO;
+import co.cetad.umas.resource.domain.model.dto.DroneBulkStatusResultDTO;
+import co.cetad.umas.resource.domain.model.dto.DroneBulkStatusUpdateDTO;
 import co.cetad.umas.resource.domain.model.dto.DroneCreateRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.DroneResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.DroneStatusUpdateDTO;
 import co.cetad.umas.resource.domain.model.dto.DroneUpdateRequestDTO;
+import co.cetad.umas.resource.domain.model.dto.ImportRowResultDTO;
+import co.cetad.umas.resource.domain.model.dto.PageResponseDTO;
 import co.cetad.umas.resource.domain.model.entity.DroneEntity;
-import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalog;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalogs;
+import co.cetad.umas.resource.infrastructure.web.etag.ETags;
+import co.cetad.umas.resource.infrastructure.web.importer.ImportReader;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
-
 @RestController
 @RequestMapping("/api/v1/drones")
 public class DroneController {
 
+    /**
+     * Filas solicitadas por adelantado al cursor de la base de datos en los endpoints de streaming
+     */
+    private static final int STREAM_PREFETCH = 256;
+
     private final DroneService droneService;
+    private final ImportReader importReader;
+    private final EnumCatalog statusCatalog;
 
-    public DroneController(DroneService droneService) {
+    public DroneController(DroneService droneService, ImportReader importReader, EnumCatalogs enumCatalogs) {
         this.droneService = droneService;
+        this.importReader = importReader;
+        this.statusCatalog = enumCatalogs.get(EnumCatalogs.DRONE_STATUSES);
     }
 
     /**
-     * Obtiene todos los drones
-     * GET /api/v1/drones
+     * Obtiene los drones paginados por keyset (más recientes primero)
+     * GET /api/v1/drones?limit=50&cursor={nextCursor}
+     * Responde 304 sin consultar la página si la tabla no cambió desde el ETag enviado en If-None-Match
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<DroneResponseDTO> getAllDrones() {
-        return droneService
-                .getAllDrones()
+    public Mono<ResponseEntity<PageResponseDTO<DroneResponseDTO>>> getAllDrones(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            ServerWebExchange exchange) {
+        return ETags.conditional(exchange, droneService.getDronesVersion(), () -> droneService.getDronesPage(cursor, limit)
+                .map(page -> PageResponseDTO.of(page.map(this::toResponse))));
+    }
+
+    /**
+     * Exporta todos los drones en streaming; cada fila se envía apenas sale del cursor de la base de datos
+     * GET /api/v1/drones/stream (Accept: application/x-ndjson o text/event-stream)
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<DroneResponseDTO> streamAllDrones() {
+        return droneService.getAllDrones()
+                .limitRate(STREAM_PREFETCH)
                 .map(this::toResponse);
     }
 
     /**
      * Obtiene todos los drones activos
      * GET /api/v1/drones/active
+     * El ETag es el de toda la tabla: cualquier cambio de estado invalida también este listado
      */
     @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<DroneResponseDTO> getActiveDrones() {
-        return droneService
+    public Mono<ResponseEntity<Flux<DroneResponseDTO>>> getActiveDrones(ServerWebExchange exchange) {
+        return ETags.conditional(exchange, droneService.getDronesVersion(), () -> Mono.just(droneService
                 .getActiveDrones()
-                .map(this::toResponse);
+                .map(this::toResponse)));
     }
 
     /**
@@ -54,11 +86,20 @@ public class DroneController {
      * GET /api/v1/drones/{id}
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<DroneResponseDTO> getDroneById(@PathVariable String id) {
-        return Mono.fromFuture(
-                droneService.getDroneById(id)
-                        .thenApply(this::toResponse)
-        );
+    public Mono<ResponseEntity<DroneResponseDTO>> getDroneById(@PathVariable String id) {
+        return droneService.getDroneById(id)
+                .map(drone -> ETags.ok(toResponse(drone), drone.updatedAt()));
+    }
+
+    /**
+     * Obtiene varios drones por ID en una sola llamada (máximo 500 IDs)
+     * POST /api/v1/drones/batch-get
+     * Respeta el orden de los IDs solicitados e informa los inexistentes en missingIds
+     */
+    @PostMapping(value = "/batch-get", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BatchGetResponseDTO<DroneResponseDTO>> getDronesByIds(@RequestBody BatchGetRequestDTO request) {
+        return droneService.getDronesByIds(request.ids())
+                .map(lookup -> BatchGetResponseDTO.of(lookup.map(this::toResponse)));
     }
 
     /**
@@ -68,10 +109,8 @@ public class DroneController {
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     @ResponseStatus(HttpStatus.CREATED)
     public Mono<DroneResponseDTO> createDrone(@RequestBody DroneCreateRequestDTO request) {
-        return Mono.fromFuture(
-                droneService.createDrone(request)
-                        .thenApply(this::toResponse)
-        );
+        return droneService.createDrone(request)
+                .map(this::toResponse);
     }
 
     /**
@@ -82,10 +121,8 @@ public class DroneController {
     public Mono<DroneResponseDTO> updateDrone(
             @PathVariable String id,
             @RequestBody DroneUpdateRequestDTO request) {
-        return Mono.fromFuture(
-                droneService.updateDrone(id, request)
-                        .thenApply(this::toResponse)
-        );
+        return droneService.updateDrone(id, request)
+                .map(this::toResponse);
     }
 
     /**
@@ -96,10 +133,41 @@ public class DroneController {
     public Mono<DroneResponseDTO> updateDroneStatus(
             @PathVariable String id,
             @RequestBody DroneStatusUpdateDTO request) {
-        return Mono.fromFuture(
-                droneService.updateDroneStatus(id, request.status())
-                        .thenApply(this::toResponse)
-        );
+        return droneService.updateDroneStatus(id, request.status())
+                .map(this::toResponse);
+    }
+
+    /**
+     * Cambia el estado de varios drones en una sola llamada (máximo 10.000 IDs)
+     * PATCH /api/v1/drones/status
+     * Devuelve el resultado por ID; con Accept application/x-ndjson o text/event-stream
+     * los resultados se envían a medida que se confirma cada bloque
+     */
+    @PatchMapping(value = "/status", consumes = MediaType.APPLICATION_JSON_VALUE, produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE
+    })
+    public Flux<DroneBulkStatusResultDTO> updateDroneStatusBulk(@RequestBody DroneBulkStatusUpdateDTO request) {
+        return droneService.updateDroneStatusBulk(request.ids(), request.status())
+                .map(result -> new DroneBulkStatusResultDTO(
+                        result.id(),
+                        result.updated() ? request.status() : null,
+                        result.updated()
+                ));
+    }
+
+    /**
+     * Importa drones desde CSV (con encabezado) o NDJSON (un objeto por línea)
+     * POST /api/v1/drones/import
+     * El archivo se procesa a medida que llega, en bloques; la respuesta trae un resultado por fila
+     */
+    @PostMapping(value = "/import",
+            consumes = {ImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ImportRowResultDTO> importDrones(ServerHttpRequest request) {
+        return droneService.importDrones(importReader.read(request, DroneCreateRequestDTO.class))
+                .map(ImportRowResultDTO::of);
     }
 
     /**
@@ -109,26 +177,17 @@ public class DroneController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public Mono<Void> deleteDrone(@PathVariable String id) {
-        return Mono.fromFuture(
-                droneService.deleteDrone(id)
-                        .thenApply(v -> null)
-        );
+        return droneService.deleteDrone(id);
     }
 
     /**
      * Obtiene todos los estados posibles de un drone
      * GET /api/v1/drones/statuses
+     * Catálogo serializado al arrancar, con ETag y Cache-Control
      */
     @GetMapping(value = "/statuses", produces = MediaType.APPLICATION_JSON_VALUE)
-    public CompletableFuture<List<DroneStatusResponse>> getAllStatuses() {
-        return CompletableFuture.supplyAsync(() ->
-                Arrays.stream(DroneStatus.values())
-                        .map(status -> new DroneStatusResponse(
-                                status.name(),
-                                status.getStatus()
-                        ))
-                        .toList()
-        );
+    public Mono<ResponseEntity<byte[]>> getAllStatuses() {
+        return statusCatalog.response();
     }
 
     private DroneResponseDTO toResponse(DroneEntity droneEntity) {
@@ -146,6 +205,4 @@ public class DroneController {
         );
     }
 
-    private record DroneStatusResponse(String code, String description) {}
-
 }
\ No newline at end of file
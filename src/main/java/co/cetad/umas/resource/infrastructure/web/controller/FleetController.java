@@ -0,0 +1,67 @@
+package co.cetad.umas.resource.infrastructure.web.controller;
+
+import co.cetad.umas.resource.application.service.fleet.FleetService;
+import co.cetad.umas.resource.domain.model.dto.FleetSummaryResponseDTO;
+import co.cetad.umas.resource.domain.model.entity.FleetSummary;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/fleet")
+public class FleetController {
+
+    private final FleetService fleetService;
+
+    public FleetController(FleetService fleetService) {
+        this.fleetService = fleetService;
+    }
+
+    /**
+     * Resumen agregado para el tablero de flota (reemplaza descargar y agregar los listados completos)
+     * GET /api/v1/fleet/summary
+     */
+    @GetMapping(value = "/summary", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<FleetSummaryResponseDTO> getFleetSummary() {
+        return fleetService.getFleetSummary()
+                .map(this::toResponse);
+    }
+
+    private FleetSummaryResponseDTO toResponse(FleetSummary summary) {
+        long pieces = summary.maintenancePieces();
+        Map<MaintenancePieceStatus, Long> piecesByStatus = summary.maintenancePiecesByStatus();
+
+        return new FleetSummaryResponseDTO(
+                summary.totalDrones(),
+                byName(summary.dronesByStatus()),
+                summary.totalFlightHours(),
+                summary.openMaintenances(),
+                byName(summary.openMaintenancesByStatus()),
+                pieces,
+                byName(piecesByStatus),
+                rate(piecesByStatus.get(MaintenancePieceStatus.DAMAGED), pieces),
+                rate(piecesByStatus.get(MaintenancePieceStatus.REPLACED), pieces),
+                summary.generatedAt()
+        );
+    }
+
+    private static Map<String, Long> byName(Map<? extends Enum<?>, Long> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.forEach((status, count) -> result.put(status.name(), count));
+        return result;
+    }
+
+    private static BigDecimal rate(long count, long total) {
+        if (total == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(count).divide(BigDecimal.valueOf(total), 4, RoundingMode.HALF_UP);
+    }
+
+}
@@ -1,40 +1,82 @@
 package co.cetad.umas.resource.infrastructure.web.controller;
 
 import co.cetad.umas.resource.application.service.maintenance.MaintenanceService;
+import co.cetad.umas.resource.domain.model.dto.BatchGetRequestDTO;
+import co.cetad.umas.resource.domain.model.dto.BatchGetResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.MaintenanceCreateRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.MaintenanceResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.MaintenanceStatusHistoryResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.MaintenanceStatusUpdateDTO;
+import co.cetad.umas.resource.domain.model.dto.PageResponseDTO;
+import co.cetad.umas.resource.domain.model.entity.MaintenanceAuditRecord;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
 import co.cetad.umas.resource.domain.model.entity.MaintenanceStatusHistoryEntity;
 import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalog;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalogs;
+import co.cetad.umas.resource.infrastructure.web.etag.ETags;
+import co.cetad.umas.resource.infrastructure.web.exporter.MaintenanceAuditExporter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Arrays;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/maintenances")
 public class MaintenanceController {
 
+    /**
+     * Filas solicitadas por adelantado al cursor de la base de datos en los endpoints de streaming
+     */
+    private static final int STREAM_PREFETCH = 256;
+
     private final MaintenanceService maintenanceService;
+    private final MaintenanceAuditExporter auditExporter;
+    private final EnumCatalog statusCatalog;
 
-    public MaintenanceController(MaintenanceService maintenanceService) {
+    public MaintenanceController(
+            MaintenanceService maintenanceService,
+            MaintenanceAuditExporter auditExporter,
+            EnumCatalogs enumCatalogs) {
         this.maintenanceService = maintenanceService;
+        this.auditExporter = auditExporter;
+        this.statusCatalog = enumCatalogs.get(EnumCatalogs.MAINTENANCE_STATUSES);
     }
 
     /**
-     * Obtiene todos los mantenimientos
-     * GET /api/v1/maintenances
+     * Obtiene los mantenimientos paginados por keyset (más recientes primero)
+     * GET /api/v1/maintenances?limit=50&cursor={nextCursor}
+     * Responde 304 sin consultar la página si la tabla no cambió desde el ETag enviado en If-None-Match
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<MaintenanceResponseDTO> getAllMaintenances() {
+    public Mono<ResponseEntity<PageResponseDTO<MaintenanceResponseDTO>>> getAllMaintenances(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            ServerWebExchange exchange) {
+        return ETags.conditional(exchange, maintenanceService.getMaintenancesVersion(), () -> maintenanceService.getMaintenancesPage(cursor, limit)
+                .map(page -> PageResponseDTO.of(page.map(this::toResponse))));
+    }
+
+    /**
+     * Exporta todos los mantenimientos en streaming; cada fila se envía apenas sale del cursor de la base de datos
+     * GET /api/v1/maintenances/stream (Accept: application/x-ndjson o text/event-stream)
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<MaintenanceResponseDTO> streamAllMaintenances() {
         return maintenanceService.getAllMaintenances()
+                .limitRate(STREAM_PREFETCH)
                 .map(this::toResponse);
     }
 
@@ -44,8 +86,8 @@ public class MaintenanceController {
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<MaintenanceResponseDTO>> getMaintenanceById(@PathVariable String id) {
-        return Mono.fromFuture(maintenanceService.getMaintenanceById(id))
-                .map(maintenance -> ResponseEntity.ok(toResponse(maintenance)))
+        return maintenanceService.getMaintenanceById(id)
+                .map(maintenance -> ETags.ok(toResponse(maintenance), maintenance.updatedAt()))
                 .onErrorResume(MaintenanceService.MaintenanceNotFoundException.class,
                         e -> Mono.just(ResponseEntity.notFound().build()));
     }
@@ -53,21 +95,40 @@ public class MaintenanceController {
     /**
      * Obtiene todos los mantenimientos de un drone específico (HISTORIAL DEL DRONE)
      * GET /api/v1/maintenances/drone/{droneId}
+     * El ETag es el de toda la tabla de mantenimientos, no solo el de los del drone
      */
     @GetMapping(value = "/drone/{droneId}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<MaintenanceResponseDTO> getMaintenancesByDroneId(@PathVariable String droneId) {
-        return maintenanceService.getMaintenancesByDroneId(droneId)
-                .map(this::toResponse);
+    public Mono<ResponseEntity<Flux<MaintenanceResponseDTO>>> getMaintenancesByDroneId(
+            @PathVariable String droneId,
+            ServerWebExchange exchange) {
+        return ETags.conditional(exchange, maintenanceService.getMaintenancesVersion(), () -> Mono.just(maintenanceService
+                .getMaintenancesByDroneId(droneId)
+                .map(this::toResponse)));
     }
 
     /**
      * Obtiene todos los mantenimientos por estado
      * GET /api/v1/maintenances/status/{status}
+     * El ETag es el de toda la tabla: un cambio de estado invalida los listados de ambos estados
      */
     @GetMapping(value = "/status/{status}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<MaintenanceResponseDTO> getMaintenancesByStatus(@PathVariable MaintenanceStatus status) {
-        return maintenanceService.getMaintenancesByStatus(status)
-                .map(this::toResponse);
+    public Mono<ResponseEntity<Flux<MaintenanceResponseDTO>>> getMaintenancesByStatus(
+            @PathVariable MaintenanceStatus status,
+            ServerWebExchange exchange) {
+        return ETags.conditional(exchange, maintenanceService.getMaintenancesVersion(), () -> Mono.just(maintenanceService
+                .getMaintenancesByStatus(status)
+                .map(this::toResponse)));
+    }
+
+    /**
+     * Obtiene varios mantenimientos por ID en una sola llamada (máximo 500 IDs)
+     * POST /api/v1/maintenances/batch-get
+     * Respeta el orden de los IDs solicitados e informa los inexistentes en missingIds
+     */
+    @PostMapping(value = "/batch-get", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BatchGetResponseDTO<MaintenanceResponseDTO>> getMaintenancesByIds(@RequestBody BatchGetRequestDTO request) {
+        return maintenanceService.getMaintenancesByIds(request.ids())
+                .map(lookup -> BatchGetResponseDTO.of(lookup.map(this::toResponse)));
     }
 
     /**
@@ -81,7 +142,7 @@ public class MaintenanceController {
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<MaintenanceResponseDTO>> createMaintenance(
             @RequestBody MaintenanceCreateRequestDTO request) {
-        return Mono.fromFuture(maintenanceService.createMaintenance(request))
+        return maintenanceService.createMaintenance(request)
                 .map(maintenance -> ResponseEntity.status(HttpStatus.CREATED).body(toResponse(maintenance)))
                 .onErrorResume(IllegalArgumentException.class,
                         e -> Mono.just(ResponseEntity.badRequest().build()))
@@ -98,7 +159,7 @@ public class MaintenanceController {
     public Mono<ResponseEntity<MaintenanceResponseDTO>> updateMaintenanceStatus(
             @PathVariable String id,
             @RequestBody MaintenanceStatusUpdateDTO statusUpdate) {
-        return Mono.fromFuture(maintenanceService.updateMaintenanceStatus(id, statusUpdate))
+        return maintenanceService.updateMaintenanceStatus(id, statusUpdate)
                 .map(maintenance -> ResponseEntity.ok(toResponse(maintenance)))
                 .onErrorResume(MaintenanceService.MaintenanceNotFoundException.class,
                         e -> Mono.just(ResponseEntity.notFound().build()))
@@ -109,37 +170,79 @@ public class MaintenanceController {
     /**
      * Obtiene el historial completo de estados de un mantenimiento
      * GET /api/v1/maintenances/{id}/history
+     * Con Accept application/x-ndjson o text/event-stream las filas se envían en streaming
      */
-    @GetMapping(value = "/{id}/history", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/{id}/history", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE
+    })
     public Flux<MaintenanceStatusHistoryResponseDTO> getMaintenanceStatusHistory(@PathVariable String id) {
         return maintenanceService.getMaintenanceStatusHistory(id)
+                .limitRate(STREAM_PREFETCH)
                 .map(this::toHistoryResponse);
     }
 
+    /**
+     * Exporta para auditoría los mantenimientos creados en el rango, con su historial de estados y sus piezas
+     * GET /api/v1/maintenances/audit-export?from=2025-01-01&to=2025-12-31&format=csv|ndjson
+     * Se genera en streaming desde una única consulta; si el cliente acepta gzip la descarga se comprime al vuelo
+     */
+    @GetMapping("/audit-export")
+    public ResponseEntity<Flux<DataBuffer>> exportAuditTrail(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServerHttpResponse response) {
+        MaintenanceAuditExporter.Format exportFormat = MaintenanceAuditExporter.Format.from(format);
+        Flux<MaintenanceAuditRecord> records = maintenanceService.exportAuditTrail(from, to);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("maintenance-audit-" + from + "_" + to + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return builder.body(auditExporter.encode(records.limitRate(STREAM_PREFETCH), exportFormat, gzip,
+                response.bufferFactory()));
+    }
+
     /**
      * Verifica si un drone tiene mantenimiento activo
      * GET /api/v1/maintenances/drone/{droneId}/active
      */
     @GetMapping(value = "/drone/{droneId}/active", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<ActiveMaintenanceResponse>> hasActiveMaintenance(@PathVariable String droneId) {
-        return Mono.fromFuture(maintenanceService.hasActiveMaintenance(droneId))
+        return maintenanceService.hasActiveMaintenance(droneId)
                 .map(hasActive -> ResponseEntity.ok(new ActiveMaintenanceResponse(droneId, hasActive)));
     }
 
+    /**
+     * Verifica en lote qué drones tienen mantenimiento activo (una sola consulta)
+     * GET /api/v1/maintenances/drone/active?droneIds={id1},{id2}
+     */
+    @GetMapping(value = "/drone/active", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<ActiveMaintenanceResponse> hasActiveMaintenance(@RequestParam List<String> droneIds) {
+        return maintenanceService.hasActiveMaintenance(droneIds)
+                .flatMapIterable(Map::entrySet)
+                .map(entry -> new ActiveMaintenanceResponse(entry.getKey(), entry.getValue()));
+    }
+
     /**
      * Obtiene todos los estados posibles de mantenimiento
      * GET /api/v1/maintenances/statuses
+     * Catálogo serializado al arrancar, con ETag y Cache-Control
      */
     @GetMapping(value = "/statuses", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<List<MaintenanceStatusResponse>> getAllStatuses() {
-        return Mono.just(
-                Arrays.stream(MaintenanceStatus.values())
-                        .map(status -> new MaintenanceStatusResponse(
-                                status.name(),
-                                status.getStatus()
-                        ))
-                        .toList()
-        );
+    public Mono<ResponseEntity<byte[]>> getAllStatuses() {
+        return statusCatalog.response();
     }
 
     private MaintenanceResponseDTO toResponse(MaintenanceEntity entity) {
@@ -165,6 +268,4 @@ public class MaintenanceController {
     }
 
     private record ActiveMaintenanceResponse(String droneId, boolean hasActiveMaintenance) {}
-    private record MaintenanceStatusResponse(String code, String description) {}
-
 }
\ No newline at end of file
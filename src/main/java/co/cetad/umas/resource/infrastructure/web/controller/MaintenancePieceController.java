@@ -3,7 +3,10 @@ package co.cetad.umas.resource.infrastructure.web.controller;
 import co.cetad.umas.resource.application.service.maintenance.MaintenancePieceService;
 import co.cetad.umas.resource.domain.model.dto.MaintenancePieceResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.MaintenancePieceUpdateDTO;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalog;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalogs;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -12,19 +15,32 @@ import reactor.core.publisher.Mono;
 @RequestMapping("/api/v1/maintenance-pieces")
 public class MaintenancePieceController {
 
+    /**
+     * Filas solicitadas por adelantado al cursor de la base de datos en los endpoints de streaming
+     */
+    private static final int STREAM_PREFETCH = 256;
+
     private final MaintenancePieceService maintenancePieceService;
+    private final EnumCatalog statusCatalog;
 
-    public MaintenancePieceController(MaintenancePieceService maintenancePieceService) {
+    public MaintenancePieceController(MaintenancePieceService maintenancePieceService, EnumCatalogs enumCatalogs) {
         this.maintenancePieceService = maintenancePieceService;
+        this.statusCatalog = enumCatalogs.get(EnumCatalogs.MAINTENANCE_PIECE_STATUSES);
     }
 
     /**
      * Obtiene todas las piezas de un mantenimiento con información detallada
      * GET /api/v1/maintenance-pieces/maintenance/{maintenanceId}
+     * Con Accept application/x-ndjson o text/event-stream las filas se envían en streaming
      */
-    @GetMapping(value = "/maintenance/{maintenanceId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/maintenance/{maintenanceId}", produces = {
+            MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE,
+            MediaType.TEXT_EVENT_STREAM_VALUE
+    })
     public Flux<MaintenancePieceResponseDTO> getMaintenancePieces(@PathVariable String maintenanceId) {
         return maintenancePieceService.getMaintenancePiecesWithDetails(maintenanceId)
+                .limitRate(STREAM_PREFETCH)
                 .map(details -> new MaintenancePieceResponseDTO(
                         details.maintenancePiece().id(),
                         details.maintenancePiece().maintenanceId(),
@@ -38,6 +54,16 @@ public class MaintenancePieceController {
                 ));
     }
 
+    /**
+     * Obtiene todos los estados posibles de una pieza en un mantenimiento
+     * GET /api/v1/maintenance-pieces/statuses
+     * Catálogo serializado al arrancar, con ETag y Cache-Control
+     */
+    @GetMapping(value = "/statuses", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllStatuses() {
+        return statusCatalog.response();
+    }
+
     /**
      * Actualiza el estado de una pieza en un mantenimiento
      * PUT /api/v1/maintenance-pieces/{id}
@@ -47,20 +73,18 @@ public class MaintenancePieceController {
             @PathVariable String id,
             @RequestBody MaintenancePieceUpdateDTO updateDTO) {
 
-        return Mono.fromFuture(
-                maintenancePieceService.updateMaintenancePieceStatus(id, updateDTO)
-                        .thenApply(entity -> new MaintenancePieceResponseDTO(
-                                entity.id(),
-                                entity.maintenanceId(),
-                                entity.pieceId(),
-                                null, // Se obtiene con otro llamado si es necesario
-                                entity.status(),
-                                entity.quantity(),
-                                entity.notes(),
-                                entity.createdAt().toString(),
-                                entity.updatedAt().toString()
-                        ))
-        );
+        return maintenancePieceService.updateMaintenancePieceStatus(id, updateDTO)
+                .map(entity -> new MaintenancePieceResponseDTO(
+                        entity.id(),
+                        entity.maintenanceId(),
+                        entity.pieceId(),
+                        null, // Se obtiene con otro llamado si es necesario
+                        entity.status(),
+                        entity.quantity(),
+                        entity.notes(),
+                        entity.createdAt().toString(),
+                        entity.updatedAt().toString()
+                ));
     }
 
 }
\ No newline at end of file
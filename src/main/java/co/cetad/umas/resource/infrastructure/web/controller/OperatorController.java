@@ -1,13 +1,23 @@
 package co.cetad.umas.resource.infrastructure.web.controller;
 
 import co.cetad.umas.resource.application.service.operator.OperatorService;
+import co.cetad.umas.resource.domain.model.dto.BatchGetRequestDTO;
+import co.cetad.umas.resource.domain.model.dto.BatchGetResponseDTO;
+import co.cetad.umas.resource.domain.model.dto.ImportRowResultDTO;
 import co.cetad.umas.resource.domain.model.dto.OperatorRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.OperatorResponseDTO;
+import co.cetad.umas.resource.domain.model.dto.PageResponseDTO;
 import co.cetad.umas.resource.domain.model.entity.OperatorEntity;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalog;
+import co.cetad.umas.resource.infrastructure.web.catalog.EnumCatalogs;
+import co.cetad.umas.resource.infrastructure.web.etag.ETags;
+import co.cetad.umas.resource.infrastructure.web.importer.ImportReader;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -16,19 +26,27 @@ import reactor.core.publisher.Mono;
 public class OperatorController {
 
     private final OperatorService operatorService;
+    private final ImportReader importReader;
+    private final EnumCatalog statusCatalog;
 
-    public OperatorController(OperatorService operatorService) {
+    public OperatorController(OperatorService operatorService, ImportReader importReader, EnumCatalogs enumCatalogs) {
         this.operatorService = operatorService;
+        this.importReader = importReader;
+        this.statusCatalog = enumCatalogs.get(EnumCatalogs.OPERATOR_STATUSES);
     }
 
     /**
-     * Obtiene todos los operadores
-     * GET /api/v1/operators
+     * Obtiene los operadores paginados por keyset (más recientes primero)
+     * GET /api/v1/operators?limit=50&cursor={nextCursor}
+     * Responde 304 sin consultar la página si la tabla no cambió desde el ETag enviado en If-None-Match
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<OperatorResponseDTO> getAllOperators() {
-        return operatorService.getAllOperators()
-                .map(this::toResponse);
+    public Mono<ResponseEntity<PageResponseDTO<OperatorResponseDTO>>> getAllOperators(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            ServerWebExchange exchange) {
+        return ETags.conditional(exchange, operatorService.getOperatorsVersion(), () -> operatorService.getOperatorsPage(cursor, limit)
+                .map(page -> PageResponseDTO.of(page.map(this::toResponse))));
     }
 
     /**
@@ -37,18 +55,29 @@ public class OperatorController {
      */
     @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<OperatorResponseDTO>> getOperatorById(@PathVariable String id) {
-        return Mono.fromFuture(operatorService.getOperatorById(id))
-                .map(operator -> ResponseEntity.ok(toResponse(operator)))
+        return operatorService.getOperatorById(id)
+                .map(operator -> ETags.ok(toResponse(operator), operator.updatedAt()))
                 .onErrorResume(e -> Mono.just(ResponseEntity.notFound().build()));
     }
 
+    /**
+     * Obtiene varios operadores por ID en una sola llamada (máximo 500 IDs)
+     * POST /api/v1/operators/batch-get
+     * Respeta el orden de los IDs solicitados e informa los inexistentes en missingIds
+     */
+    @PostMapping(value = "/batch-get", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BatchGetResponseDTO<OperatorResponseDTO>> getOperatorsByIds(@RequestBody BatchGetRequestDTO request) {
+        return operatorService.getOperatorsByIds(request.ids())
+                .map(lookup -> BatchGetResponseDTO.of(lookup.map(this::toResponse)));
+    }
+
     /**
      * Crea un nuevo operador
      * POST /api/v1/operators
      */
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<OperatorResponseDTO>> createOperator(@RequestBody OperatorRequestDTO request) {
-        return Mono.fromFuture(operatorService.createOperator(request))
+        return operatorService.createOperator(request)
                 .map(operator -> ResponseEntity.status(HttpStatus.CREATED).body(toResponse(operator)))
                 .onErrorResume(IllegalArgumentException.class,
                         e -> Mono.just(ResponseEntity.badRequest().build()))
@@ -63,24 +92,47 @@ public class OperatorController {
     public Mono<ResponseEntity<OperatorResponseDTO>> updateOperator(
             @PathVariable String id,
             @RequestBody OperatorRequestDTO request) {
-        return Mono.fromFuture(operatorService.updateOperator(id, request))
+        return operatorService.updateOperator(id, request)
                 .map(operator -> ResponseEntity.ok(toResponse(operator)))
                 .onErrorResume(IllegalArgumentException.class,
                         e -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(e -> Mono.just(ResponseEntity.notFound().build()));
     }
 
+    /**
+     * Importa operadores desde CSV (con encabezado) o NDJSON (un objeto por línea)
+     * POST /api/v1/operators/import
+     * Username y email deben ser únicos, igual que al crear uno a uno; la respuesta trae un resultado por fila
+     */
+    @PostMapping(value = "/import",
+            consumes = {ImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ImportRowResultDTO> importOperators(ServerHttpRequest request) {
+        return operatorService.importOperators(importReader.read(request, OperatorRequestDTO.class))
+                .map(ImportRowResultDTO::of);
+    }
+
     /**
      * Elimina un operador por su ID
      * DELETE /api/v1/operators/{id}
      */
     @DeleteMapping("/{id}")
     public Mono<ResponseEntity<Void>> deleteOperator(@PathVariable String id) {
-        return Mono.fromFuture(operatorService.deleteOperator(id))
+        return operatorService.deleteOperator(id)
                 .then(Mono.just(ResponseEntity.noContent().<Void>build()))
                 .onErrorResume(e -> Mono.just(ResponseEntity.notFound().build()));
     }
 
+    /**
+     * Obtiene todos los estados posibles de un operador
+     * GET /api/v1/operators/statuses
+     * Catálogo serializado al arrancar, con ETag y Cache-Control
+     */
+    @GetMapping(value = "/statuses", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> getAllStatuses() {
+        return statusCatalog.response();
+    }
+
     private OperatorResponseDTO toResponse(OperatorEntity entity) {
         return new OperatorResponseDTO(
                 entity.id(),
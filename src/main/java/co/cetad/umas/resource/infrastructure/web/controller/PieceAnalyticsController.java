@@ -0,0 +1,105 @@
+package co.cetad.umas.resource.infrastructure.web.controller;
+
+import co.cetad.umas.resource.application.service.piece.PieceAnalyticsService;
+import co.cetad.umas.resource.domain.model.dto.PieceFailureStatsResponseDTO;
+import co.cetad.umas.resource.domain.model.entity.PieceFailureStats;
+import co.cetad.umas.resource.infrastructure.security.RoleValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/v1/analytics/pieces")
+public class PieceAnalyticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(PieceAnalyticsController.class);
+
+    private final PieceAnalyticsService pieceAnalyticsService;
+
+    public PieceAnalyticsController(PieceAnalyticsService pieceAnalyticsService) {
+        this.pieceAnalyticsService = pieceAnalyticsService;
+    }
+
+    /**
+     * Ranking de piezas por tasa de falla, por modelo de drone (planeación de repuestos)
+     * GET /api/v1/analytics/pieces/failures?from=2025-01&to=2025-12&model=M300&limit=20
+     * Sin from/to se usan los últimos doce meses. Solo accesible para admin y maintainer
+     */
+    @GetMapping(value = "/failures", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<PieceFailureStatsResponseDTO> getFailureRanking(
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to,
+            @RequestParam(required = false) String model,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestHeader("X-User-Roles") String rolesHeader) {
+
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("getFailureRanking");
+
+        if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to getFailureRanking");
+            return Flux.empty();
+        }
+
+        return pieceAnalyticsService.getFailureRanking(from, to, model, limit)
+                .map(this::toResponse);
+    }
+
+    /**
+     * Evolución mensual de fallas de una pieza
+     * GET /api/v1/analytics/pieces/{pieceId}/failures?from=2025-01&to=2025-12&model=M300
+     * Solo accesible para admin y maintainer
+     */
+    @GetMapping(value = "/{pieceId}/failures", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<PieceFailureStatsResponseDTO> getFailureTrend(
+            @PathVariable String pieceId,
+            @RequestParam(required = false) YearMonth from,
+            @RequestParam(required = false) YearMonth to,
+            @RequestParam(required = false) String model,
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestHeader("X-User-Roles") String rolesHeader) {
+
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .addKeyValue("pieceId", pieceId)
+                .log("getFailureTrend");
+
+        if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to getFailureTrend");
+            return Flux.empty();
+        }
+
+        return pieceAnalyticsService.getFailureTrend(pieceId, from, to, model)
+                .map(this::toResponse);
+    }
+
+    private PieceFailureStatsResponseDTO toResponse(PieceFailureStats stats) {
+        return new PieceFailureStatsResponseDTO(
+                stats.pieceId(),
+                stats.pieceName(),
+                stats.droneModel(),
+                stats.period() != null ? stats.period().toString() : null,
+                stats.inspected(),
+                stats.damaged(),
+                stats.replaced(),
+                stats.damagedRate(),
+                stats.replacedRate(),
+                stats.failureRate()
+        );
+    }
+
+}
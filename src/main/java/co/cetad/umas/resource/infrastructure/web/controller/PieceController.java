@@ -1,20 +1,30 @@
 package co.cetad.umas.resource.infrastructure.web.controller;
 
 import co.cetad.umas.resource.application.service.piece.PieceService;
+import co.cetad.umas.resource.domain.model.dto.BatchGetRequestDTO;
+import co.cetad.umas.resource.domain.model.dto.BatchGetResponseDTO;
+import co.cetad.umas.resource.domain.model.dto.ImportRowResultDTO;
+import co.cetad.umas.resource.domain.model.dto.PageResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.PieceCreateRequestDTO;
 import co.cetad.umas.resource.domain.model.dto.PieceResponseDTO;
 import co.cetad.umas.resource.domain.model.dto.PieceUpdateRequestDTO;
 import co.cetad.umas.resource.domain.model.entity.PieceEntity;
 import co.cetad.umas.resource.infrastructure.security.RoleValidator;
+import co.cetad.umas.resource.infrastructure.web.etag.ETags;
+import co.cetad.umas.resource.infrastructure.web.importer.ImportReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/pieces")
 public class PieceController {
@@ -22,53 +32,70 @@ public class PieceController {
     private static final Logger log = LoggerFactory.getLogger(PieceController.class);
 
     private final PieceService pieceService;
+    private final ImportReader importReader;
 
-    public PieceController(PieceService pieceService) {
+    public PieceController(PieceService pieceService, ImportReader importReader) {
         this.pieceService = pieceService;
+        this.importReader = importReader;
     }
 
     /**
-     * Obtiene todas las piezas
-     * GET /api/v1/pieces
-     * Solo accesible para admin y maintainer
+     * Obtiene las piezas paginadas por keyset (más recientes primero)
+     * GET /api/v1/pieces?limit=50&cursor={nextCursor}
+     * Solo accesible para admin y maintainer; la respuesta vacía de los no autorizados no lleva ETag
      */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<PieceResponseDTO> getAllPieces(
+    public Mono<ResponseEntity<PageResponseDTO<PieceResponseDTO>>> getAllPieces(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
             @RequestHeader("X-User-Id") String keycloakUserId,
-            @RequestHeader("X-User-Roles") String rolesHeader) {
+            @RequestHeader("X-User-Roles") String rolesHeader,
+            ServerWebExchange exchange) {
 
-        log.debug("getAllPieces - User: {}, Roles: {}", keycloakUserId, rolesHeader);
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("getAllPieces");
 
         if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
-            log.warn("Unauthorized access attempt to getAllPieces by user: {} with roles: {}",
-                    keycloakUserId, rolesHeader);
-            return Flux.empty();
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to getAllPieces");
+            return Mono.just(ResponseEntity.ok(new PageResponseDTO<>(List.of(), null, false)));
         }
 
-        return pieceService.getAllPieces()
-                .map(this::toResponse);
+        return ETags.conditional(exchange, pieceService.getPiecesVersion(), () -> pieceService.getPiecesPage(cursor, limit)
+                .map(page -> PageResponseDTO.of(page.map(this::toResponse))));
     }
 
     /**
      * Obtiene todas las piezas activas
      * GET /api/v1/pieces/active
-     * Solo accesible para admin y maintainer
+     * Solo accesible para admin y maintainer. El ETag es el de toda la tabla de piezas
      */
     @GetMapping(value = "/active", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<PieceResponseDTO> getActivePieces(
+    public Mono<ResponseEntity<Flux<PieceResponseDTO>>> getActivePieces(
             @RequestHeader("X-User-Id") String keycloakUserId,
-            @RequestHeader("X-User-Roles") String rolesHeader) {
+            @RequestHeader("X-User-Roles") String rolesHeader,
+            ServerWebExchange exchange) {
 
-        log.debug("getActivePieces - User: {}, Roles: {}", keycloakUserId, rolesHeader);
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("getActivePieces");
 
         if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
-            log.warn("Unauthorized access attempt to getActivePieces by user: {} with roles: {}",
-                    keycloakUserId, rolesHeader);
-            return Flux.empty();
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to getActivePieces");
+            return Mono.just(ResponseEntity.ok(Flux.empty()));
         }
 
-        return pieceService.getActivePieces()
-                .map(this::toResponse);
+        return ETags.conditional(exchange, pieceService.getPiecesVersion(), () -> Mono.just(pieceService
+                .getActivePieces()
+                .map(this::toResponse)));
     }
 
     /**
@@ -82,22 +109,59 @@ public class PieceController {
             @RequestHeader("X-User-Id") String keycloakUserId,
             @RequestHeader("X-User-Roles") String rolesHeader) {
 
-        log.debug("getPieceById - User: {}, Roles: {}, PieceId: {}", keycloakUserId, rolesHeader, id);
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("getPieceById");
 
         if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
-            log.warn("Unauthorized access attempt to getPieceById by user: {} with roles: {}",
-                    keycloakUserId, rolesHeader);
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to getPieceById");
             return Mono.just(ResponseEntity.ok().build());
         }
 
-        return Mono.fromFuture(pieceService.getPieceById(id))
-                .map(piece -> ResponseEntity.ok(toResponse(piece)))
+        return pieceService.getPieceById(id)
+                .map(piece -> ETags.ok(toResponse(piece), piece.updatedAt()))
                 .onErrorResume(e -> {
-                    log.error("Error getting piece by id: {}", id, e);
+                    log.atError()
+                            .addKeyValue("pieceId", id)
+                            .setCause(e)
+                            .log("Error getting piece by id");
                     return Mono.just(ResponseEntity.notFound().build());
                 });
     }
 
+    /**
+     * Obtiene varias piezas por ID en una sola llamada (máximo 500 IDs)
+     * POST /api/v1/pieces/batch-get
+     * Respeta el orden de los IDs solicitados e informa los inexistentes en missingIds
+     * Solo accesible para admin y maintainer
+     */
+    @PostMapping(value = "/batch-get", produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<BatchGetResponseDTO<PieceResponseDTO>> getPiecesByIds(
+            @RequestBody BatchGetRequestDTO request,
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestHeader("X-User-Roles") String rolesHeader) {
+
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("getPiecesByIds");
+
+        if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to getPiecesByIds");
+            return Mono.just(new BatchGetResponseDTO<>(List.of(), List.of()));
+        }
+
+        return pieceService.getPiecesByIds(request.ids())
+                .map(lookup -> BatchGetResponseDTO.of(lookup.map(this::toResponse)));
+    }
+
     /**
      * Crea una nueva pieza
      * POST /api/v1/pieces
@@ -109,25 +173,39 @@ public class PieceController {
             @RequestHeader("X-User-Id") String keycloakUserId,
             @RequestHeader("X-User-Roles") String rolesHeader) {
 
-        log.debug("createPiece - User: {}, Roles: {}, Request: {}", keycloakUserId, rolesHeader, request);
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("createPiece");
 
         if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
-            log.warn("Unauthorized access attempt to createPiece by user: {} with roles: {}",
-                    keycloakUserId, rolesHeader);
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to createPiece");
             return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
         }
 
-        return Mono.fromFuture(pieceService.createPiece(request))
+        return pieceService.createPiece(request)
                 .map(piece -> {
-                    log.info("Piece created successfully by user: {}, pieceId: {}", keycloakUserId, piece.id());
+                    log.atInfo()
+                            .addKeyValue("userId", keycloakUserId)
+                            .addKeyValue("pieceId", piece.id())
+                            .log("Piece created successfully");
                     return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(piece));
                 })
                 .onErrorResume(IllegalArgumentException.class, e -> {
-                    log.error("Validation error creating piece: {}", e.getMessage());
+                    log.atError()
+                            .addKeyValue("userId", keycloakUserId)
+                            .addKeyValue("reason", e.getMessage())
+                            .log("Validation error creating piece");
                     return Mono.just(ResponseEntity.badRequest().build());
                 })
                 .onErrorResume(e -> {
-                    log.error("Error creating piece", e);
+                    log.atError()
+                            .addKeyValue("userId", keycloakUserId)
+                            .setCause(e)
+                            .log("Error creating piece");
                     return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                 });
     }
@@ -144,30 +222,77 @@ public class PieceController {
             @RequestHeader("X-User-Id") String keycloakUserId,
             @RequestHeader("X-User-Roles") String rolesHeader) {
 
-        log.debug("updatePiece - User: {}, Roles: {}, PieceId: {}, Request: {}",
-                keycloakUserId, rolesHeader, id, request);
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("updatePiece");
 
         if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
-            log.warn("Unauthorized access attempt to updatePiece by user: {} with roles: {}",
-                    keycloakUserId, rolesHeader);
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to updatePiece");
             return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
         }
 
-        return Mono.fromFuture(pieceService.updatePiece(id, request))
+        return pieceService.updatePiece(id, request)
                 .map(piece -> {
-                    log.info("Piece updated successfully by user: {}, pieceId: {}", keycloakUserId, piece.id());
+                    log.atInfo()
+                            .addKeyValue("userId", keycloakUserId)
+                            .addKeyValue("pieceId", piece.id())
+                            .log("Piece updated successfully");
                     return ResponseEntity.ok(toResponse(piece));
                 })
                 .onErrorResume(IllegalArgumentException.class, e -> {
-                    log.error("Validation error updating piece: {}", e.getMessage());
+                    log.atError()
+                            .addKeyValue("userId", keycloakUserId)
+                            .addKeyValue("pieceId", id)
+                            .addKeyValue("reason", e.getMessage())
+                            .log("Validation error updating piece");
                     return Mono.just(ResponseEntity.badRequest().build());
                 })
                 .onErrorResume(e -> {
-                    log.error("Error updating piece: {}", id, e);
+                    log.atError()
+                            .addKeyValue("pieceId", id)
+                            .setCause(e)
+                            .log("Error updating piece");
                     return Mono.just(ResponseEntity.notFound().build());
                 });
     }
 
+    /**
+     * Importa el catálogo de piezas desde CSV (con encabezado) o NDJSON (un objeto por línea)
+     * POST /api/v1/pieces/import
+     * Solo accesible para admin y maintainer; la respuesta trae un resultado por fila
+     */
+    @PostMapping(value = "/import",
+            consumes = {ImportReader.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Flux<ImportRowResultDTO>>> importPieces(
+            ServerHttpRequest request,
+            @RequestHeader("X-User-Id") String keycloakUserId,
+            @RequestHeader("X-User-Roles") String rolesHeader) {
+
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("importPieces");
+
+        if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to importPieces");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        Flux<ImportRowResultDTO> results = pieceService
+                .importPieces(importReader.read(request, PieceCreateRequestDTO.class))
+                .map(ImportRowResultDTO::of);
+
+        return Mono.just(ResponseEntity.ok(results));
+    }
+
     /**
      * Elimina una pieza por su ID (soft delete)
      * DELETE /api/v1/pieces/{id}
@@ -179,21 +304,32 @@ public class PieceController {
             @RequestHeader("X-User-Id") String keycloakUserId,
             @RequestHeader("X-User-Roles") String rolesHeader) {
 
-        log.debug("deletePiece - User: {}, Roles: {}, PieceId: {}", keycloakUserId, rolesHeader, id);
+        log.atDebug()
+                .addKeyValue("userId", keycloakUserId)
+                .addKeyValue("roles", rolesHeader)
+                .log("deletePiece");
 
         if (RoleValidator.hasAuthorizedRoleForPieces(rolesHeader)) {
-            log.warn("Unauthorized access attempt to deletePiece by user: {} with roles: {}",
-                    keycloakUserId, rolesHeader);
+            log.atWarn()
+                    .addKeyValue("userId", keycloakUserId)
+                    .addKeyValue("roles", rolesHeader)
+                    .log("Unauthorized access attempt to deletePiece");
             return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
         }
 
-        return Mono.fromFuture(pieceService.deletePiece(id))
+        return pieceService.deletePiece(id)
                 .then(Mono.fromCallable(() -> {
-                    log.info("Piece deleted successfully by user: {}, pieceId: {}", keycloakUserId, id);
+                    log.atInfo()
+                            .addKeyValue("userId", keycloakUserId)
+                            .addKeyValue("pieceId", id)
+                            .log("Piece deleted successfully");
                     return ResponseEntity.noContent().<Void>build();
                 }))
                 .onErrorResume(e -> {
-                    log.error("Error deleting piece: {}", id, e);
+                    log.atError()
+                            .addKeyValue("pieceId", id)
+                            .setCause(e)
+                            .log("Error deleting piece");
                     return Mono.just(ResponseEntity.notFound().build());
                 });
     }
@@ -0,0 +1,51 @@
+package co.cetad.umas.resource.infrastructure.web.controller;
+
+import co.cetad.umas.resource.application.service.status.StatusChangeService;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeEvent;
+import co.cetad.umas.resource.domain.model.vo.StatusChangeType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/status-changes")
+public class StatusChangeController {
+
+    /**
+     * Intervalo de los comentarios keep-alive para que proxies y balanceadores no cierren la conexión
+     */
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final StatusChangeService statusChangeService;
+
+    public StatusChangeController(StatusChangeService statusChangeService) {
+        this.statusChangeService = statusChangeService;
+    }
+
+    /**
+     * Canal en vivo de cambios de estado (reemplaza el polling de listados)
+     * GET /api/v1/status-changes?type=DRONE
+     * Cada evento SSE usa el tipo de cambio como nombre de evento
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<StatusChangeEvent>> streamStatusChanges(
+            @RequestParam(required = false) StatusChangeType type) {
+        Flux<ServerSentEvent<StatusChangeEvent>> events = statusChangeService.getStatusChanges(type)
+                .map(event -> ServerSentEvent.<StatusChangeEvent>builder()
+                        .id(event.id())
+                        .event(event.type().name())
+                        .data(event)
+                        .build());
+
+        Flux<ServerSentEvent<StatusChangeEvent>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<StatusChangeEvent>builder()
+                        .comment("keep-alive")
+                        .build());
+
+        return Flux.merge(events, heartbeats);
+    }
+
+}
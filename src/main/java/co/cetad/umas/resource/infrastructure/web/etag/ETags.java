@@ -0,0 +1,80 @@
+package co.cetad.umas.resource.infrastructure.web.etag;
+
+import co.cetad.umas.resource.domain.model.vo.CollectionVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+
+/**
+ * ETags fuertes para los GET de drones, piezas, mantenimientos y operadores.
+ * Una entidad se identifica por su updated_at (toda escritura lo actualiza); un listado por la
+ * {@link CollectionVersion} de su tabla. Al devolver un {@link ResponseEntity} con ETag, WebFlux compara
+ * If-None-Match y responde 304 sin escribir el cuerpo.
+ */
+public final class ETags {
+
+    private ETags() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * ETag de una entidad; null si no tiene fecha de modificación
+     */
+    public static String of(LocalDateTime updatedAt) {
+        return updatedAt != null ? quote(Long.toHexString(epochMicros(updatedAt))) : null;
+    }
+
+    /**
+     * ETag de un listado: cambia con cualquier alta, modificación o borrado en la tabla
+     */
+    public static String of(CollectionVersion version) {
+        return quote("v" + Long.toHexString(version.version()));
+    }
+
+    /**
+     * ETag de un contenido fijo (p. ej. un catálogo serializado): resumen MD5 de sus bytes
+     */
+    public static String of(byte[] content) {
+        return quote(DigestUtils.md5DigestAsHex(content));
+    }
+
+    /**
+     * Respuesta 200 de una entidad con su ETag
+     */
+    public static <T> ResponseEntity<T> ok(T body, LocalDateTime updatedAt) {
+        return ResponseEntity.ok().eTag(of(updatedAt)).body(body);
+    }
+
+    /**
+     * Listado condicional: primero se consulta la versión de la tabla (collection_version) y, si coincide
+     * con If-None-Match, se responde 304 sin ejecutar el listado. La versión se toma antes que el listado, así que
+     * una escritura entre ambas solo puede hacer que el cliente descargue de nuevo en la siguiente petición.
+     */
+    public static <T> Mono<ResponseEntity<T>> conditional(
+            ServerWebExchange exchange,
+            Mono<CollectionVersion> version,
+            Supplier<Mono<T>> body) {
+        return version.flatMap(current -> {
+            String eTag = of(current);
+            if (exchange.checkNotModified(eTag)) {
+                return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<T>build());
+            }
+            return body.get().map(content -> ResponseEntity.ok().eTag(eTag).body(content));
+        });
+    }
+
+    private static long epochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+}
@@ -0,0 +1,187 @@
+package co.cetad.umas.resource.infrastructure.web.exporter;
+
+import co.cetad.umas.resource.domain.model.entity.MaintenanceAuditRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Codifica la exportación de auditoría de mantenimientos como CSV o NDJSON, opcionalmente comprimida con gzip.
+ * Las filas se escriben en bloques de ROWS_PER_WRITE a medida que llegan del cursor; con gzip cada bloque
+ * se comprime con un flush de sincronización, así que nunca se retiene más de un bloque en memoria.
+ */
+@Component
+public class MaintenanceAuditExporter {
+
+    private static final int ROWS_PER_WRITE = 256;
+
+    private static final String CSV_HEADER = "maintenance_id,drone_id,maintenance_status,maintenance_created_at,"
+            + "record_type,record_id,status,occurred_at,changed_by,piece_id,piece_name,quantity,comment\n";
+
+    private final ObjectWriter lineWriter;
+
+    public MaintenanceAuditExporter(ObjectMapper objectMapper) {
+        // Una línea por registro: la sangría configurada para las respuestas JSON rompería el NDJSON
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    @Getter
+    public enum Format {
+
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + value);
+        }
+
+    }
+
+    public Flux<DataBuffer> encode(
+            Flux<MaintenanceAuditRecord> records,
+            Format format,
+            boolean gzip,
+            DataBufferFactory bufferFactory) {
+        Flux<byte[]> chunks = records.buffer(ROWS_PER_WRITE)
+                .<byte[]>handle((chunk, sink) -> {
+                    try {
+                        sink.next(format == Format.CSV ? toCsv(chunk) : toNdjson(chunk));
+                    } catch (IOException e) {
+                        sink.error(e);
+                    }
+                });
+
+        if (format == Format.CSV) {
+            chunks = Flux.concat(Mono.just(CSV_HEADER.getBytes(StandardCharsets.UTF_8)), chunks);
+        }
+
+        if (gzip) {
+            Flux<byte[]> plain = chunks;
+            chunks = Flux.using(GzipChunks::new,
+                    compressor -> plain.map(compressor::compress).concatWith(Mono.fromCallable(compressor::finish)),
+                    GzipChunks::close);
+        }
+
+        return chunks.filter(bytes -> bytes.length > 0)
+                .map(bufferFactory::wrap);
+    }
+
+    private byte[] toNdjson(List<MaintenanceAuditRecord> chunk) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(chunk.size() * 256);
+        for (MaintenanceAuditRecord record : chunk) {
+            lineWriter.writeValue(out, record);
+            out.write('\n');
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] toCsv(List<MaintenanceAuditRecord> chunk) {
+        StringBuilder csv = new StringBuilder(chunk.size() * 256);
+        for (MaintenanceAuditRecord record : chunk) {
+            csv.append(record.maintenanceId()).append(',')
+                    .append(record.droneId()).append(',')
+                    .append(record.maintenanceStatus().name()).append(',')
+                    .append(timestamp(record.maintenanceCreatedAt())).append(',')
+                    .append(record.recordType().name()).append(',')
+                    .append(record.recordId()).append(',')
+                    .append(field(record.status())).append(',')
+                    .append(timestamp(record.occurredAt())).append(',')
+                    .append(field(record.changedBy())).append(',')
+                    .append(field(record.pieceId())).append(',')
+                    .append(field(record.pieceName())).append(',')
+                    .append(record.quantity() != null ? record.quantity() : "").append(',')
+                    .append(field(record.comment())).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String timestamp(LocalDateTime value) {
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Escapa un valor de texto según RFC 4180: entre comillas si contiene separadores, comillas o saltos de línea
+     */
+    private static String field(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Compresor gzip incremental: cada bloque se comprime y se entrega de inmediato (SYNC_FLUSH)
+     */
+    private static final class GzipChunks implements AutoCloseable {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+
+        private GzipChunks() throws IOException {
+            this.gzip = new GZIPOutputStream(out, 8192, true);
+        }
+
+        private byte[] compress(byte[] chunk) {
+            try {
+                gzip.write(chunk);
+                gzip.flush();
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private byte[] finish() throws IOException {
+            gzip.finish();
+            return drain();
+        }
+
+        private byte[] drain() {
+            byte[] bytes = out.toByteArray();
+            out.reset();
+            return bytes;
+        }
+
+        @Override
+        public void close() {
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package co.cetad.umas.resource.infrastructure.web.importer;
+
+import co.cetad.umas.resource.domain.model.vo.ImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectura incremental de archivos de importación (CSV o NDJSON) desde el cuerpo de la petición.
+ * El cuerpo se decodifica línea a línea a medida que llega, sin cargar el archivo completo en memoria.
+ * En CSV la primera línea es el encabezado con los nombres de los campos (camelCase o snake_case);
+ * los valores entre comillas admiten comas y comillas dobles escapadas, pero no saltos de línea.
+ */
+@Component
+public class ImportReader {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+
+    private final ObjectMapper objectMapper;
+    private final StringDecoder lineDecoder = StringDecoder.allMimeTypes();
+
+    public ImportReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Convierte cada línea del cuerpo en una fila del tipo indicado; las líneas en blanco se omiten
+     * y las que no se pueden interpretar llegan como filas inválidas con su número de línea
+     */
+    public <T> Flux<ImportRow<T>> read(ServerHttpRequest request, Class<T> type) {
+        MediaType contentType = request.getHeaders().getContentType();
+        Flux<Line> lines = lineDecoder.decode(request.getBody(), STRING_TYPE, contentType, Map.of())
+                .index((index, text) -> new Line(index + 1, text));
+
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+            return readCsv(lines, type);
+        }
+
+        return lines.filter(line -> !line.text().isBlank())
+                .map(line -> parseJson(line, type));
+    }
+
+    private <T> Flux<ImportRow<T>> readCsv(Flux<Line> lines, Class<T> type) {
+        return lines.switchOnFirst((first, all) -> {
+            if (!first.hasValue()) {
+                return all.thenMany(Flux.<ImportRow<T>>empty());
+            }
+
+            List<String> header = parseHeader(first.get().text());
+            return all.skip(1)
+                    .filter(line -> !line.text().isBlank())
+                    .map(line -> parseCsv(line, header, type));
+        });
+    }
+
+    private <T> ImportRow<T> parseJson(Line line, Class<T> type) {
+        try {
+            return ImportRow.valid(line.number(), objectMapper.readValue(line.text(), type));
+        } catch (JsonProcessingException e) {
+            return ImportRow.invalid(line.number(), "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private <T> ImportRow<T> parseCsv(Line line, List<String> header, Class<T> type) {
+        try {
+            List<String> values = splitCsv(line.text());
+            if (values.size() != header.size()) {
+                return ImportRow.invalid(line.number(),
+                        "Se esperaban " + header.size() + " columnas y llegaron " + values.size());
+            }
+
+            Map<String, String> fields = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String value = values.get(i).trim();
+                fields.put(header.get(i), value.isEmpty() ? null : value);
+            }
+
+            return ImportRow.valid(line.number(), objectMapper.convertValue(fields, type));
+        } catch (IllegalArgumentException e) {
+            return ImportRow.invalid(line.number(), "Valor inválido: " + rootMessage(e));
+        }
+    }
+
+    private static List<String> parseHeader(String text) {
+        String header = text.startsWith("\uFEFF") ? text.substring(1) : text;
+        return splitCsv(header).stream()
+                .map(name -> toCamelCase(name.trim()))
+                .toList();
+    }
+
+    private static List<String> splitCsv(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    current.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("comillas sin cerrar");
+        }
+
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String toCamelCase(String name) {
+        StringBuilder result = new StringBuilder(name.length());
+        boolean upperNext = false;
+
+        for (char c : name.toCharArray()) {
+            if (c == '_') {
+                upperNext = true;
+            } else {
+                result.append(upperNext ? Character.toUpperCase(c) : c);
+                upperNext = false;
+            }
+        }
+
+        return result.toString();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record Line(long number, String text) {
+    }
+
+}
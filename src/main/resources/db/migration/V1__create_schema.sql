@@ -0,0 +1,70 @@
+-- Esquema base del servicio de recursos (tipos enumerados y tablas)
+CREATE TYPE drone_status AS ENUM ('ACTIVE', 'IN_MAINTENANCE', 'REPAIRING', 'OUT_OF_SERVICE', 'DECOMMISSIONED');
+CREATE TYPE maintenance_status AS ENUM ('ACTIVE', 'IN_MAINTENANCE', 'REPAIRING', 'OUT_OF_SERVICE', 'COMPLETED');
+CREATE TYPE maintenance_part_status AS ENUM ('PENDING', 'CHECKED', 'REPLACED', 'DAMAGED');
+CREATE TYPE operator_status AS ENUM ('ACTIVE', 'INACTIVE', 'SUSPENDED');
+
+CREATE TABLE drone (
+    id            UUID PRIMARY KEY,
+    name          VARCHAR(255) NOT NULL,
+    vehicle_id    VARCHAR(255),
+    model         VARCHAR(255),
+    description   TEXT,
+    serial_number VARCHAR(255),
+    status        drone_status NOT NULL,
+    flight_hours  NUMERIC(10, 2),
+    created_at    TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE piece (
+    id          UUID PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL UNIQUE,
+    description TEXT,
+    active      BOOLEAN NOT NULL DEFAULT true,
+    created_at  TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at  TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE maintenance (
+    id             UUID PRIMARY KEY,
+    drone_id       UUID NOT NULL REFERENCES drone (id),
+    current_status maintenance_status NOT NULL,
+    description    TEXT,
+    created_at     TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at     TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE maintenance_piece (
+    id             UUID PRIMARY KEY,
+    maintenance_id UUID NOT NULL REFERENCES maintenance (id),
+    piece_id       UUID NOT NULL REFERENCES piece (id),
+    status         maintenance_part_status NOT NULL,
+    quantity       INTEGER NOT NULL DEFAULT 1,
+    notes          TEXT,
+    created_at     TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at     TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE maintenance_status_history (
+    id             UUID PRIMARY KEY,
+    maintenance_id UUID NOT NULL REFERENCES maintenance (id),
+    status         maintenance_status NOT NULL,
+    changed_at     TIMESTAMP NOT NULL DEFAULT now(),
+    changed_by     UUID,
+    comment        TEXT
+);
+
+CREATE TABLE operator (
+    id            UUID PRIMARY KEY,
+    username      VARCHAR(255) NOT NULL UNIQUE,
+    full_name     VARCHAR(255),
+    email         VARCHAR(255) NOT NULL UNIQUE,
+    phone_number  VARCHAR(50),
+    ugcs_user_id  VARCHAR(255),
+    user_keycloak VARCHAR(255),
+    status        operator_status NOT NULL,
+    is_available  BOOLEAN NOT NULL DEFAULT true,
+    created_at    TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at    TIMESTAMP NOT NULL DEFAULT now()
+);
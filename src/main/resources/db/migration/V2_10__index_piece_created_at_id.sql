@@ -0,0 +1,6 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- PieceR2dbcRepository: findAll, findPage
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_piece_created_at_id ON piece (created_at DESC, id DESC);
@@ -0,0 +1,6 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- PieceR2dbcRepository: findAllActive (índice parcial, solo piezas activas)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_piece_active_created_at ON piece (created_at DESC) WHERE active;
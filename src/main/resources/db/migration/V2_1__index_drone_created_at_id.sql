@@ -0,0 +1,13 @@
+-- Índices diseñados a partir de las consultas de infrastructure/persistence/repository.
+-- Los listados paginan por keyset sobre (created_at, id) descendente; los filtros por estado
+-- y por dueño llevan created_at como segunda columna para devolver el orden sin Sort.
+-- operator(username), operator(email) y piece(name) ya quedan indexados por sus restricciones UNIQUE.
+--
+-- V2_1 a V2_11 crean un índice cada una con CREATE INDEX CONCURRENTLY, que no bloquea escrituras
+-- mientras se construye sobre tablas pobladas. CONCURRENTLY no admite transacción ni varias
+-- sentencias por script, de ahí un índice por script y executeInTransaction=false en su .sql.conf.
+-- Si una construcción falla, Postgres deja el índice INVALID: hay que borrarlo
+-- (DROP INDEX CONCURRENTLY) antes de reintentar, porque IF NOT EXISTS lo daría por creado.
+
+-- DroneR2dbcRepository: findAll, findPage
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_drone_created_at_id ON drone (created_at DESC, id DESC);
@@ -0,0 +1,6 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- MaintenanceR2dbcRepository: findByDroneId, existsActiveMaintenanceForDrone
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_maintenance_drone_id_created_at ON maintenance (drone_id, created_at DESC);
@@ -0,0 +1,7 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- MaintenanceR2dbcRepository: findByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_maintenance_current_status_created_at
+    ON maintenance (current_status, created_at DESC);
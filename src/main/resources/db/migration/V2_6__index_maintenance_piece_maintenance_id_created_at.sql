@@ -0,0 +1,7 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- MaintenancePieceR2dbcRepository: findByMaintenanceId, findByMaintenanceIdWithDetails, deleteByMaintenanceId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_maintenance_piece_maintenance_id_created_at
+    ON maintenance_piece (maintenance_id, created_at, id);
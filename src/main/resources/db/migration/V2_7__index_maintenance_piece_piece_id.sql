@@ -0,0 +1,6 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- Clave foránea hacia piece (borrado de piezas del catálogo)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_maintenance_piece_piece_id ON maintenance_piece (piece_id);
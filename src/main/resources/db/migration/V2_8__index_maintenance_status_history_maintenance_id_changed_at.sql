@@ -0,0 +1,7 @@
+-- Índices de consulta (ver V2_1). Se crean con CONCURRENTLY para no bloquear escrituras sobre
+-- la tabla poblada; por eso va un índice por script y el script corre fuera de transacción
+-- (executeInTransaction=false en el .sql.conf).
+
+-- MaintenanceStatusHistoryR2dbcRepository: findByMaintenanceId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_maintenance_status_history_maintenance_id_changed_at
+    ON maintenance_status_history (maintenance_id, changed_at DESC);
@@ -0,0 +1,5 @@
+-- MaintenanceR2dbcRepository: existsActiveMaintenanceForDrone, findDroneIdsWithActiveMaintenance.
+-- Índice parcial solo con los mantenimientos no completados: pequeño frente al histórico
+-- y suficiente para responder la verificación con una sola lectura de índice.
+-- CONCURRENTLY para no bloquear escrituras; corre fuera de transacción (ver V3__active_maintenance_index.sql.conf).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_maintenance_active_drone_id ON maintenance (drone_id) WHERE current_status <> 'COMPLETED';
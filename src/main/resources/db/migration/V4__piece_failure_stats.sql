@@ -0,0 +1,73 @@
+-- Contadores de fallas de piezas para la analítica de repuestos (PieceFailureStatsR2dbcRepository).
+-- Una fila por pieza, modelo de drone y mes de creación del mantenimiento; inspected cuenta las piezas
+-- ya revisadas (estado distinto de PENDING) y damaged/replaced las que terminaron dañadas o reemplazadas.
+-- Los mantiene un trigger sobre maintenance_piece con la transición exacta OLD -> NEW de cada fila,
+-- dentro de la misma transacción que el cambio de estado; las consultas leen solo esta tabla.
+-- El modelo se toma del drone al momento de cada cambio: si un drone cambia de modelo, sus piezas
+-- ya contadas permanecen bajo el modelo anterior.
+
+CREATE TABLE piece_failure_stats (
+    piece_id    UUID         NOT NULL REFERENCES piece (id),
+    drone_model VARCHAR(255) NOT NULL,
+    period      DATE         NOT NULL,
+    inspected   BIGINT       NOT NULL DEFAULT 0,
+    damaged     BIGINT       NOT NULL DEFAULT 0,
+    replaced    BIGINT       NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMP    NOT NULL DEFAULT now(),
+    PRIMARY KEY (piece_id, drone_model, period)
+);
+
+-- PieceFailureStatsR2dbcRepository: findRanking (rango de meses)
+CREATE INDEX idx_piece_failure_stats_period ON piece_failure_stats (period);
+
+CREATE FUNCTION piece_failure_stats_apply(
+    p_piece_id UUID, p_maintenance_id UUID, p_status maintenance_part_status, p_sign INT
+) RETURNS VOID AS $$
+    INSERT INTO piece_failure_stats AS s (piece_id, drone_model, period, inspected, damaged, replaced, updated_at)
+    SELECT p_piece_id, COALESCE(d.model, ''), date_trunc('month', m.created_at)::date,
+           p_sign, p_sign * (p_status = 'DAMAGED')::int, p_sign * (p_status = 'REPLACED')::int, now()
+    FROM maintenance m
+    JOIN drone d ON d.id = m.drone_id
+    WHERE m.id = p_maintenance_id
+      AND p_status <> 'PENDING'
+    ON CONFLICT (piece_id, drone_model, period) DO UPDATE
+        SET inspected = s.inspected + EXCLUDED.inspected,
+            damaged = s.damaged + EXCLUDED.damaged,
+            replaced = s.replaced + EXCLUDED.replaced,
+            updated_at = EXCLUDED.updated_at;
+$$ LANGUAGE sql;
+
+CREATE FUNCTION maintenance_piece_failure_stats() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM piece_failure_stats_apply(OLD.piece_id, OLD.maintenance_id, OLD.status, -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM piece_failure_stats_apply(NEW.piece_id, NEW.maintenance_id, NEW.status, 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_maintenance_piece_failure_stats_insert_delete
+    AFTER INSERT OR DELETE ON maintenance_piece
+    FOR EACH ROW EXECUTE FUNCTION maintenance_piece_failure_stats();
+
+-- MaintenancePieceService.updateMaintenancePieceStatus: solo cuando el estado cambia de verdad
+CREATE TRIGGER trg_maintenance_piece_failure_stats_update
+    AFTER UPDATE OF status ON maintenance_piece
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION maintenance_piece_failure_stats();
+
+-- Carga inicial con las piezas ya revisadas
+INSERT INTO piece_failure_stats (piece_id, drone_model, period, inspected, damaged, replaced)
+SELECT mp.piece_id, COALESCE(d.model, ''), date_trunc('month', m.created_at)::date,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE mp.status = 'DAMAGED'),
+       COUNT(*) FILTER (WHERE mp.status = 'REPLACED')
+FROM maintenance_piece mp
+JOIN maintenance m ON m.id = mp.maintenance_id
+JOIN drone d ON d.id = m.drone_id
+WHERE mp.status <> 'PENDING'
+GROUP BY mp.piece_id, COALESCE(d.model, ''), date_trunc('month', m.created_at)::date;
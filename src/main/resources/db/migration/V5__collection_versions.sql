@@ -0,0 +1,40 @@
+-- Validadores de listados (ETag): *R2dbcRepository.getVersion lee la versión de su tabla por clave primaria.
+-- Cada sentencia que escribe en drone, maintenance, operator o piece incrementa la fila de su tabla al terminar.
+-- El UPDATE bloquea esa fila hasta el commit, así que dos transacciones que escriben en la misma tabla obtienen
+-- versiones en el orden en que confirman: una versión leída nunca deja fuera un cambio confirmado antes que ella
+-- (no así max(updated_at), que toma la hora de la aplicación al armar la sentencia y no la del commit).
+-- Costo: los escritores de una misma tabla se serializan en el commit. Las transacciones que escriben en varias
+-- tablas (crear o cerrar un mantenimiento) lo hacen siempre en orden maintenance -> drone, sin ciclos de bloqueo.
+-- La versión inicial es la hora de la migración en milisegundos, para no repetir ETags si la base se recrea.
+
+CREATE TABLE collection_version (
+    table_name VARCHAR(63) PRIMARY KEY,
+    version    BIGINT      NOT NULL
+);
+
+INSERT INTO collection_version (table_name, version)
+SELECT table_name, (extract(epoch FROM clock_timestamp()) * 1000)::bigint
+FROM (VALUES ('drone'), ('maintenance'), ('operator'), ('piece')) AS t (table_name);
+
+CREATE FUNCTION bump_collection_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE collection_version SET version = version + 1 WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_drone_collection_version
+    AFTER INSERT OR UPDATE OR DELETE ON drone
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_collection_version();
+
+CREATE TRIGGER trg_maintenance_collection_version
+    AFTER INSERT OR UPDATE OR DELETE ON maintenance
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_collection_version();
+
+CREATE TRIGGER trg_operator_collection_version
+    AFTER INSERT OR UPDATE OR DELETE ON operator
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_collection_version();
+
+CREATE TRIGGER trg_piece_collection_version
+    AFTER INSERT OR UPDATE OR DELETE ON piece
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_collection_version();
@@ -0,0 +1,61 @@
+-- Corrige la atribución por modelo de piece_failure_stats (V4). Antes, piece_failure_stats_apply leía el modelo
+-- actual del drone tanto para sumar NEW.status como para restar OLD.status: si el drone cambiaba de modelo,
+-- la resta caía en la clave nueva (que podía quedar negativa) y la suma original quedaba para siempre en la anterior.
+-- Ahora cada mantenimiento guarda el modelo de su drone al crearse (maintenance.drone_model, inmutable) y el trigger
+-- suma y resta siempre bajo ese valor: las piezas de mantenimientos anteriores a un cambio de modelo siguen contadas
+-- bajo el modelo anterior y las de mantenimientos nuevos bajo el nuevo.
+
+ALTER TABLE maintenance ADD COLUMN drone_model VARCHAR(255);
+
+UPDATE maintenance m
+SET drone_model = COALESCE(d.model, '')
+FROM drone d
+WHERE d.id = m.drone_id;
+
+-- Los INSERT de la aplicación no envían la columna: la completa el trigger BEFORE, antes de validar NOT NULL
+ALTER TABLE maintenance ALTER COLUMN drone_model SET NOT NULL;
+
+CREATE FUNCTION maintenance_drone_model() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        NEW.drone_model := COALESCE((SELECT model FROM drone WHERE id = NEW.drone_id), '');
+    ELSE
+        -- Los contadores ya sumados bajo este modelo solo se pueden restar bajo el mismo
+        NEW.drone_model := OLD.drone_model;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_maintenance_drone_model
+    BEFORE INSERT OR UPDATE OF drone_model ON maintenance
+    FOR EACH ROW EXECUTE FUNCTION maintenance_drone_model();
+
+CREATE OR REPLACE FUNCTION piece_failure_stats_apply(
+    p_piece_id UUID, p_maintenance_id UUID, p_status maintenance_part_status, p_sign INT
+) RETURNS VOID AS $$
+    INSERT INTO piece_failure_stats AS s (piece_id, drone_model, period, inspected, damaged, replaced, updated_at)
+    SELECT p_piece_id, m.drone_model, date_trunc('month', m.created_at)::date,
+           p_sign, p_sign * (p_status = 'DAMAGED')::int, p_sign * (p_status = 'REPLACED')::int, now()
+    FROM maintenance m
+    WHERE m.id = p_maintenance_id
+      AND p_status <> 'PENDING'
+    ON CONFLICT (piece_id, drone_model, period) DO UPDATE
+        SET inspected = s.inspected + EXCLUDED.inspected,
+            damaged = s.damaged + EXCLUDED.damaged,
+            replaced = s.replaced + EXCLUDED.replaced,
+            updated_at = EXCLUDED.updated_at;
+$$ LANGUAGE sql;
+
+-- Recalcula los contadores con el modelo guardado; descarta las claves que el cálculo anterior pudo desbalancear
+TRUNCATE piece_failure_stats;
+
+INSERT INTO piece_failure_stats (piece_id, drone_model, period, inspected, damaged, replaced)
+SELECT mp.piece_id, m.drone_model, date_trunc('month', m.created_at)::date,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE mp.status = 'DAMAGED'),
+       COUNT(*) FILTER (WHERE mp.status = 'REPLACED')
+FROM maintenance_piece mp
+JOIN maintenance m ON m.id = mp.maintenance_id
+WHERE mp.status <> 'PENDING'
+GROUP BY mp.piece_id, m.drone_model, date_trunc('month', m.created_at)::date;
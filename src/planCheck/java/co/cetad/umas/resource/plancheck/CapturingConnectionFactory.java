@@ -0,0 +1,129 @@
+package co.cetad.umas.resource.plancheck;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ConnectionFactory que no abre conexiones: registra cada sentencia que los repositorios crean
+ * (SQL ya expandido a $n y sus binds) y responde sin resultados.
+ * Así el chequeo de planes trabaja con el SQL real de cada repositorio sin duplicarlo.
+ */
+final class CapturingConnectionFactory implements ConnectionFactory {
+
+    private final List<CapturedStatement> statements = new ArrayList<>();
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.just(proxy(Connection.class, (connection, method, args) -> {
+            if (method.getName().equals("createStatement")) {
+                CapturedStatement captured = new CapturedStatement((String) args[0], new ArrayList<>());
+                statements.add(captured);
+                return statementProxy(captured);
+            }
+            return defaultValue(connection, method);
+        }));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return () -> "capturing";
+    }
+
+    /**
+     * Devuelve y limpia las sentencias registradas desde la última llamada
+     */
+    List<CapturedStatement> drain() {
+        List<CapturedStatement> drained = List.copyOf(statements);
+        statements.clear();
+        return drained;
+    }
+
+    private Statement statementProxy(CapturedStatement captured) {
+        return proxy(Statement.class, (statement, method, args) -> {
+            if (method.getName().startsWith("bind")) {
+                captured.binds().add(new Binding(method, args));
+                return statement;
+            }
+            if (method.getName().equals("execute")) {
+                return Flux.empty();
+            }
+            return defaultValue(statement, method);
+        });
+    }
+
+    private static Object defaultValue(Object proxy, Method method) {
+        Class<?> returnType = method.getReturnType();
+        if (Publisher.class.isAssignableFrom(returnType)) {
+            return Mono.empty();
+        }
+        if (returnType.isInstance(proxy)) {
+            return proxy;
+        }
+        if (returnType == boolean.class) {
+            return false;
+        }
+        if (method.getName().equals("toString")) {
+            return "Capturing" + method.getDeclaringClass().getSimpleName();
+        }
+        if (method.getName().equals("hashCode")) {
+            return System.identityHashCode(proxy);
+        }
+        return null;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getName().equals("equals")
+                        ? proxy == args[0]
+                        : handler.handle(proxy, method, args));
+        return type.cast(instance);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object proxy, Method method, Object[] args);
+    }
+
+    /**
+     * Sentencia creada por un repositorio
+     */
+    record CapturedStatement(String sql, List<Binding> binds) {
+
+        /**
+         * Crea la misma sentencia precedida de EXPLAIN sobre una conexión real y repite los binds
+         */
+        Statement explainOn(Connection connection) {
+            Statement explain = connection.createStatement("EXPLAIN (FORMAT JSON) " + sql);
+            binds.forEach(binding -> binding.applyTo(explain));
+            return explain;
+        }
+
+    }
+
+    /**
+     * Llamada bind/bindNull registrada, repetible sobre otra sentencia
+     */
+    record Binding(Method method, Object[] args) {
+
+        void applyTo(Statement statement) {
+            try {
+                method.invoke(statement, args);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("No fue posible repetir " + method.getName(), e);
+            }
+        }
+
+    }
+
+}
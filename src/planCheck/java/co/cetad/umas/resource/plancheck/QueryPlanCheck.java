@@ -0,0 +1,312 @@
+package co.cetad.umas.resource.plancheck;
+
+import co.cetad.umas.resource.domain.model.entity.DroneEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenanceEntity;
+import co.cetad.umas.resource.domain.model.entity.MaintenancePieceEntity;
+import co.cetad.umas.resource.domain.model.entity.OperatorEntity;
+import co.cetad.umas.resource.domain.model.entity.PieceEntity;
+import co.cetad.umas.resource.domain.model.vo.DroneStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenancePieceStatus;
+import co.cetad.umas.resource.domain.model.vo.MaintenanceStatus;
+import co.cetad.umas.resource.domain.model.vo.OperatorStatus;
+import co.cetad.umas.resource.domain.model.vo.PageCursor;
+import co.cetad.umas.resource.infrastructure.persistence.config.MeteredDatabaseClient;
+import co.cetad.umas.resource.infrastructure.persistence.repository.DroneR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenancePieceR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenanceR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.MaintenanceStatusHistoryR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.OperatorR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.PieceFailureStatsR2dbcRepository;
+import co.cetad.umas.resource.infrastructure.persistence.repository.PieceR2dbcRepository;
+import co.cetad.umas.resource.plancheck.CapturingConnectionFactory.CapturedStatement;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.r2dbc.postgresql.PostgresqlConnectionConfiguration;
+import io.r2dbc.postgresql.PostgresqlConnectionFactory;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.reactivestreams.Publisher;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chequeo de planes de ejecución de los repositorios R2DBC.
+ * Levanta Postgres embebido, aplica las migraciones de db/migration, carga datos de volumen y ejecuta
+ * EXPLAIN sobre el SQL real de cada consulta (capturado con {@link CapturingConnectionFactory}).
+ * Falla si alguna consulta resuelve con Seq Scan sobre una tabla grande.
+ * Los listados completos (findAll) y el resumen de flota son agregados sobre toda la tabla: la recorren
+ * por diseño y no se incluyen.
+ */
+public final class QueryPlanCheck {
+
+    /**
+     * Filas a partir de las cuales una tabla se considera grande
+     */
+    private static final long LARGE_TABLE_ROWS = 10_000;
+
+    private static final String FIXTURES = """
+            INSERT INTO drone (id, name, vehicle_id, model, description, serial_number, status, flight_hours,
+                               created_at, updated_at)
+            SELECT gen_random_uuid(), 'drone-' || n, 'V-' || n, 'M300', 'fixture', 'SN-' || n,
+                   (CASE WHEN n % 100 = 0 THEN 'REPAIRING' WHEN n % 50 = 0 THEN 'IN_MAINTENANCE'
+                         ELSE 'ACTIVE' END)::drone_status,
+                   n, now() - n * interval '1 minute', now()
+            FROM generate_series(1, 20000) AS n;
+
+            INSERT INTO maintenance (id, drone_id, current_status, description, created_at, updated_at)
+            SELECT gen_random_uuid(), d.id,
+                   (CASE WHEN random() < 0.01 THEN 'OUT_OF_SERVICE' WHEN random() < 0.02 THEN 'ACTIVE'
+                         ELSE 'COMPLETED' END)::maintenance_status,
+                   'fixture', d.created_at + k * interval '1 day', now()
+            FROM drone d, generate_series(1, 5) AS k;
+
+            INSERT INTO piece (id, name, description, active, created_at, updated_at)
+            SELECT gen_random_uuid(), 'piece-' || n, 'fixture', n % 5 <> 0, now() - n * interval '1 hour', now()
+            FROM generate_series(1, 200) AS n;
+
+            INSERT INTO maintenance_piece (id, maintenance_id, piece_id, status, quantity, notes,
+                                           created_at, updated_at)
+            SELECT gen_random_uuid(), m.id, p.id, 'CHECKED', 1, 'ok', m.created_at, now()
+            FROM (SELECT id, created_at FROM maintenance LIMIT 2000) m,
+                 (SELECT id FROM piece LIMIT 100) p;
+
+            INSERT INTO maintenance_status_history (id, maintenance_id, status, changed_at, comment)
+            SELECT gen_random_uuid(), m.id, 'ACTIVE', m.created_at + k * interval '1 hour', 'fixture'
+            FROM maintenance m, generate_series(1, 3) AS k;
+
+            INSERT INTO operator (id, username, full_name, email, phone_number, status, is_available,
+                                  created_at, updated_at)
+            SELECT gen_random_uuid(), 'user-' || n, 'User ' || n, 'user' || n || '@umas.co', '300',
+                   'ACTIVE', true, now() - n * interval '1 minute', now()
+            FROM generate_series(1, 20000) AS n;
+
+            ANALYZE;
+            """;
+
+    private final CapturingConnectionFactory capturing = new CapturingConnectionFactory();
+    private final List<Case> cases = new ArrayList<>();
+
+    private record Case(String name, CapturedStatement statement) {
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.start()) {
+            Flyway.configure()
+                    .dataSource(postgres.getPostgresDatabase())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+
+            try (Connection jdbc = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = jdbc.createStatement()) {
+                statement.execute(FIXTURES);
+                List<String> failures = new QueryPlanCheck().run(jdbc, postgres.getPort());
+
+                if (!failures.isEmpty()) {
+                    failures.forEach(System.err::println);
+                    throw new IllegalStateException(failures.size() + " consultas resuelven con Seq Scan sobre tablas grandes");
+                }
+            }
+        }
+        System.out.println("Chequeo de planes OK");
+    }
+
+    private List<String> run(Connection jdbc, int port) throws SQLException {
+        captureRepositoryQueries(jdbc);
+
+        Set<String> largeTables = largeTables(jdbc);
+        PostgresqlConnectionFactory connectionFactory = new PostgresqlConnectionFactory(
+                PostgresqlConnectionConfiguration.builder()
+                        .host("localhost")
+                        .port(port)
+                        .database("postgres")
+                        .username("postgres")
+                        .password("postgres")
+                        .build());
+        PostgresqlConnection connection = connectionFactory.create().block();
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<String> failures = new ArrayList<>();
+
+        try {
+            for (Case check : cases) {
+                String plan = Flux.from(check.statement().explainOn(connection).execute())
+                        .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class)))
+                        .single()
+                        .block();
+
+                List<String> seqScans = new ArrayList<>();
+                collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), largeTables, seqScans);
+                System.out.printf("%-60s %s%n", check.name(), seqScans.isEmpty() ? "OK" : "SEQ SCAN " + seqScans);
+
+                if (!seqScans.isEmpty()) {
+                    failures.add(check.name() + ": Seq Scan sobre " + seqScans + "\n  " + check.statement().sql()
+                            + "\n  " + plan);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Plan EXPLAIN inválido", e);
+        } finally {
+            connection.close().block();
+        }
+        return failures;
+    }
+
+    /**
+     * Invoca cada consulta de los repositorios con valores selectivos, como en producción
+     * (la mayoría de drones activos y de mantenimientos completados)
+     */
+    private void captureRepositoryQueries(Connection jdbc) throws SQLException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MeteredDatabaseClient databaseClient = new MeteredDatabaseClient(DatabaseClient.builder()
+                .connectionFactory(capturing)
+                .namedParameters(true)
+                .build(), meterRegistry, ObservationRegistry.NOOP, Duration.ofSeconds(1), Duration.ofSeconds(10));
+
+        DroneR2dbcRepository drones = new DroneR2dbcRepository(databaseClient, meterRegistry);
+        MaintenanceR2dbcRepository maintenances = new MaintenanceR2dbcRepository(databaseClient, meterRegistry);
+        MaintenancePieceR2dbcRepository maintenancePieces = new MaintenancePieceR2dbcRepository(databaseClient, 500);
+        MaintenanceStatusHistoryR2dbcRepository statusHistory = new MaintenanceStatusHistoryR2dbcRepository(databaseClient);
+        OperatorR2dbcRepository operators = new OperatorR2dbcRepository(databaseClient);
+        PieceR2dbcRepository pieces = new PieceR2dbcRepository(databaseClient);
+        PieceFailureStatsR2dbcRepository pieceFailureStats = new PieceFailureStatsR2dbcRepository(databaseClient);
+
+        LocalDateTime now = LocalDateTime.now();
+        String droneId = queryId(jdbc, "SELECT id FROM drone OFFSET 1000 LIMIT 1");
+        String maintenanceId = queryId(jdbc, "SELECT maintenance_id FROM maintenance_piece LIMIT 1");
+        String maintenancePieceId = queryId(jdbc, "SELECT id FROM maintenance_piece LIMIT 1");
+        String operatorId = queryId(jdbc, "SELECT id FROM operator OFFSET 1000 LIMIT 1");
+        String pieceId = queryId(jdbc, "SELECT id FROM piece LIMIT 1");
+        PageCursor cursor = new PageCursor(now.minusDays(7), UUID.randomUUID().toString());
+
+        capture("DroneRepository.findPage", drones.findPage(null, 51));
+        capture("DroneRepository.getVersion", drones.getVersion());
+        capture("DroneRepository.findPage(cursor)", drones.findPage(cursor, 51));
+        capture("DroneRepository.findByStatus", drones.findByStatus(DroneStatus.REPAIRING));
+        capture("DroneRepository.findById", drones.findById(droneId));
+        capture("DroneRepository.findAllByIds", drones.findAllByIds(List.of(droneId, UUID.randomUUID().toString())));
+        capture("DroneRepository.update", drones.update(new DroneEntity(droneId, "drone", "V-1", "M300",
+                "fixture", "SN-1", DroneStatus.ACTIVE, BigDecimal.ONE, now, now)));
+        capture("DroneRepository.updateStatus", drones.updateStatus(droneId, DroneStatus.ACTIVE));
+        capture("DroneRepository.updateStatusBulk",
+                drones.updateStatusBulk(List.of(droneId, UUID.randomUUID().toString()), DroneStatus.REPAIRING));
+        capture("DroneRepository.saveBatch", drones.saveBatch(List.of(new DroneEntity(UUID.randomUUID().toString(),
+                "imported", "V-X", "M300", "fixture", "SN-X", DroneStatus.ACTIVE, BigDecimal.ONE, now, now))));
+
+        capture("MaintenanceRepository.findPage", maintenances.findPage(null, 51));
+        capture("MaintenanceRepository.getVersion", maintenances.getVersion());
+        capture("MaintenanceRepository.findPage(cursor)", maintenances.findPage(cursor, 51));
+        capture("MaintenanceRepository.findById", maintenances.findById(maintenanceId));
+        capture("MaintenanceRepository.findAllByIds",
+                maintenances.findAllByIds(List.of(maintenanceId, UUID.randomUUID().toString())));
+        capture("MaintenanceRepository.findByDroneId", maintenances.findByDroneId(droneId));
+        capture("MaintenanceRepository.findByStatus", maintenances.findByStatus(MaintenanceStatus.OUT_OF_SERVICE));
+        capture("MaintenanceRepository.existsActiveMaintenanceForDrone",
+                maintenances.existsActiveMaintenanceForDrone(droneId));
+        capture("MaintenanceRepository.findDroneIdsWithActiveMaintenance",
+                maintenances.findDroneIdsWithActiveMaintenance(List.of(droneId, UUID.randomUUID().toString())));
+        capture("MaintenanceRepository.findAuditTrail", maintenances.findAuditTrail(now.minusDays(30), now));
+        capture("MaintenanceRepository.update", maintenances.update(new MaintenanceEntity(maintenanceId, droneId,
+                MaintenanceStatus.COMPLETED, "fixture", now, now)));
+
+        capture("MaintenancePieceRepository.findByMaintenanceId", maintenancePieces.findByMaintenanceId(maintenanceId));
+        capture("MaintenancePieceRepository.findByMaintenanceIdWithDetails",
+                maintenancePieces.findByMaintenanceIdWithDetails(maintenanceId));
+        capture("MaintenancePieceRepository.findById", maintenancePieces.findById(maintenancePieceId));
+        capture("MaintenancePieceRepository.update", maintenancePieces.update(new MaintenancePieceEntity(
+                maintenancePieceId, maintenanceId, pieceId, MaintenancePieceStatus.REPLACED, 1, "ok", now, now)));
+        capture("MaintenancePieceRepository.deleteByMaintenanceId", maintenancePieces.deleteByMaintenanceId(maintenanceId));
+
+        capture("MaintenanceStatusHistoryRepository.findByMaintenanceId", statusHistory.findByMaintenanceId(maintenanceId));
+
+        capture("OperatorRepository.findPage", operators.findPage(null, 51));
+        capture("OperatorRepository.getVersion", operators.getVersion());
+        capture("OperatorRepository.findPage(cursor)", operators.findPage(cursor, 51));
+        capture("OperatorRepository.findById", operators.findById(operatorId));
+        capture("OperatorRepository.findAllByIds",
+                operators.findAllByIds(List.of(operatorId, UUID.randomUUID().toString())));
+        capture("OperatorRepository.existsByUsername", operators.existsByUsername("user-1000"));
+        capture("OperatorRepository.existsByEmail", operators.existsByEmail("user1000@umas.co"));
+        capture("OperatorRepository.findByUsernamesOrEmails",
+                operators.findByUsernamesOrEmails(List.of("user-1000"), List.of("user2000@umas.co")));
+        capture("OperatorRepository.saveBatch", operators.saveBatch(List.of(new OperatorEntity(
+                UUID.randomUUID().toString(), "user-1000", "User", "imported@umas.co", "300", null, null,
+                OperatorStatus.ACTIVE, true, now, now))));
+        capture("OperatorRepository.update", operators.update(new OperatorEntity(operatorId, "user-1000", "User",
+                "user1000@umas.co", "300", null, null, OperatorStatus.ACTIVE, true, now, now)));
+        capture("OperatorRepository.deleteById", operators.deleteById(operatorId));
+
+        capture("PieceRepository.findPage", pieces.findPage(null, 51));
+        capture("PieceRepository.getVersion", pieces.getVersion());
+        capture("PieceRepository.findPage(cursor)", pieces.findPage(cursor, 51));
+        capture("PieceRepository.findAllActive", pieces.findAllActive());
+        capture("PieceRepository.findById", pieces.findById(pieceId));
+        capture("PieceRepository.findAllByIds", pieces.findAllByIds(List.of(pieceId, UUID.randomUUID().toString())));
+        capture("PieceRepository.existsByName", pieces.existsByName("piece-1"));
+        capture("PieceRepository.saveBatch", pieces.saveBatch(List.of(
+                new PieceEntity(UUID.randomUUID().toString(), "piece-1", "fixture", true, now, now))));
+        capture("PieceRepository.update", pieces.update(new PieceEntity(pieceId, "piece-1", "fixture", true, now, now)));
+        capture("PieceRepository.deleteById", pieces.deleteById(pieceId));
+
+        YearMonth month = YearMonth.from(now);
+        capture("PieceFailureStatsRepository.findRanking",
+                pieceFailureStats.findRanking(month.minusMonths(11), month, null, 20));
+        capture("PieceFailureStatsRepository.findRanking(model)",
+                pieceFailureStats.findRanking(month.minusMonths(11), month, "M300", 20));
+        capture("PieceFailureStatsRepository.findMonthlyByPiece",
+                pieceFailureStats.findMonthlyByPiece(pieceId, month.minusMonths(11), month, null));
+    }
+
+    private void capture(String name, Publisher<?> call) {
+        Flux.from(call).blockLast();
+        capturing.drain().forEach(statement -> cases.add(new Case(name, statement)));
+    }
+
+    private static void collectSeqScans(JsonNode node, Set<String> largeTables, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && largeTables.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, largeTables, seqScans);
+        }
+    }
+
+    private static Set<String> largeTables(Connection jdbc) throws SQLException {
+        Set<String> tables = new HashSet<>();
+        try (Statement statement = jdbc.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT relname FROM pg_class WHERE relkind = 'r' AND reltuples >= " + LARGE_TABLE_ROWS)) {
+            while (rows.next()) {
+                tables.add(rows.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private static String queryId(Connection jdbc, String sql) throws SQLException {
+        try (Statement statement = jdbc.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getString(1);
+        }
+    }
+
+}